@@ -0,0 +1,70 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация тел ответов GET /bookings и GET /items. ObjectMapper настроен так же,
+ * как его собирает Spring Boot для контроллеров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingReturnDto> bookings;
+    private List<ItemDto> items;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        for (Booking booking : MapperBenchmark.createBookings(size)) {
+            bookings.add(BookingMapper.toBookingReturnDto(booking));
+            ItemDto item = ItemMapper.toItemDto(booking.getItem());
+            item.setLastBooking(BookingMapper.toBookingDto(booking));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public byte[] bookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] items() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
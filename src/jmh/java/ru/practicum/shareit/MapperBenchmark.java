@@ -0,0 +1,95 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование сущностей в DTO для страницы бронирований и списка вещей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        bookings = createBookings(size);
+        items = new ArrayList<>();
+        for (Booking booking : bookings) {
+            items.add(booking.getItem());
+        }
+    }
+
+    @Benchmark
+    public List<BookingReturnDto> toBookingReturnDto() {
+        List<BookingReturnDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingReturnDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingDto> toBookingDto() {
+        List<BookingDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            result.add(BookingMapper.toBookingDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDto() {
+        List<ItemDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(ItemMapper.toItemDto(item));
+        }
+        return result;
+    }
+
+    /**
+     * Бронирования разных вещей одного владельца одним арендатором, по два часа подряд.
+     */
+    static List<Booking> createBookings(int count) {
+        User booker = new User(1L, "booker", "booker@mail.ru");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item((long) i, "дрель " + i, "дрель ударная, аккумуляторная " + i, true, 2L, null);
+            bookings.add(new Booking((long) i, BookingStatus.APPROVED, booker, item,
+                    start.plusHours(2L * i), start.plusHours(2L * i + 1), 0L));
+        }
+        return bookings;
+    }
+}
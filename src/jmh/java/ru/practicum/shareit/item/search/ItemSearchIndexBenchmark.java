@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск по индексу в памяти: короткий запрос перебором документов, частое и редкое слово через триграммы.
+ * Результат сливает совпадения в названии и в описании, как searchItem при shareit.items.search.engine=memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchIndexBenchmark {
+    private static final String[] WORDS = {"дрель", "пила", "отвёртка", "молоток", "лестница", "палатка",
+            "велосипед", "самокат", "проектор", "колонка", "шуруповёрт", "перфоратор"};
+    private static final int PAGE = 20;
+
+    @Param({"10000", "100000"})
+    private int documents;
+
+    private ItemSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        index = new ItemSearchIndex();
+        for (int i = 1; i <= documents; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            index.put(i, name, description, random.nextInt(10) > 0);
+        }
+        index.put(documents + 1L, "редкая вещь", "антикварный граммофон", true);
+    }
+
+    @Benchmark
+    public List<ItemDto> shortQuery() {
+        return index.search("пи", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<ItemDto> frequentWord() {
+        return index.search("Дрель", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<ItemDto> rareWord() {
+        return index.search("граммофон", 0, PAGE);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Раскладка последних и ближайших бронирований по вещам владельца для GET /items.
+ * На каждую вещь приходит по два бронирования с одинаковым началом, из которых остаётся первое.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    @Param({"100", "10000"})
+    private int items;
+
+    private List<ItemDto> itemDtos;
+    private List<Booking> lastBookings;
+    private List<Booking> nextBookings;
+
+    @Setup
+    public void setUp() {
+        User booker = new User(1L, "booker", "booker@mail.ru");
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+        itemDtos = new ArrayList<>();
+        lastBookings = new ArrayList<>();
+        nextBookings = new ArrayList<>();
+        long bookingId = 0;
+        for (int i = 0; i < items; i++) {
+            Item item = new Item((long) i, "item" + i, "description", true, 2L, null);
+            itemDtos.add(ItemMapper.toItemDto(item));
+            for (int j = 0; j < 2; j++) {
+                lastBookings.add(new Booking(bookingId++, BookingStatus.APPROVED, booker, item,
+                        now.minusDays(2), now.minusDays(1), 0L));
+                nextBookings.add(new Booking(bookingId++, BookingStatus.APPROVED, booker, item,
+                        now.plusDays(1), now.plusDays(2), 0L));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> setLastAndNextBookings() {
+        return ItemServiceImpl.setLastAndNextBookings(itemDtos, lastBookings, nextBookings);
+    }
+}
@@ -1,24 +1,42 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingReturnDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON = "application/x-ndjson";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingReturnDto addBooking(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -27,6 +45,13 @@ public class BookingController {
         return bookingService.addBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestBody List<BookingDto> bookingDtos) {
+        log.info("Post-запрос на добавление {} бронирований", bookingDtos.size());
+        return bookingService.addBookings(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingReturnDto patchBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @PathVariable Long bookingId, @RequestParam boolean approved) {
@@ -41,17 +66,76 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingReturnDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userID,
-                                                  @RequestParam(required = false, defaultValue = "ALL") String state) {
+    public ResponseEntity<List<BookingReturnDto>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userID,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) @PositiveOrZero Integer from,
+            @RequestParam(required = false) @Positive Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get-запрос на получение чпичка бронирований пользователя с id {} и статусом {}", userID, state);
-        return bookingService.getUserBookingList(userID, state);
+        return toResponse(bookingService.getUserBookingList(userID, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingReturnDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userID,
-                                                   @RequestParam(required = false, defaultValue = "ALL") String state) {
+    public ResponseEntity<List<BookingReturnDto>> getOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userID,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @RequestParam(required = false) @PositiveOrZero Integer from,
+            @RequestParam(required = false) @Positive Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get-запрос на получение чпичка бронирований пользователя с id {} и статусом {}", userID, state);
-        return bookingService.getOwnerBookingList(userID, state);
+        return toResponse(bookingService.getOwnerBookingList(userID, state, from, size, cursor));
+    }
+
+    @GetMapping("/export")
+    public void exportUserBookings(@RequestHeader("X-Sharer-User-Id") Long userID,
+                                   @RequestParam(required = false, defaultValue = "ALL") String state,
+                                   HttpServletResponse response) {
+        log.info("Get-запрос на выгрузку бронирований пользователя с id {} и статусом {}", userID, state);
+        bookingService.exportUserBookings(userID, state, writeNdjson(response));
+        startNdjson(response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userID,
+                                    @RequestParam(required = false, defaultValue = "ALL") String state,
+                                    HttpServletResponse response) {
+        log.info("Get-запрос на выгрузку бронирований вещей владельца с id {} и статусом {}", userID, state);
+        bookingService.exportOwnerBookings(userID, state, writeNdjson(response));
+        startNdjson(response);
+    }
+
+    /**
+     * Пишет каждое бронирование отдельной строкой JSON прямо в ответ, не накапливая выгрузку в памяти.
+     * Тип ответа выставляется при первой записи: ошибки проверки пользователя и состояния возникают раньше
+     * и обрабатываются ErrorHandler как обычно.
+     */
+    private Consumer<BookingReturnDto> writeNdjson(HttpServletResponse response) {
+        ObjectWriter writer = objectMapper.writerFor(BookingReturnDto.class);
+        return booking -> {
+            try {
+                startNdjson(response);
+                OutputStream out = response.getOutputStream();
+                out.write(writer.writeValueAsBytes(booking));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private void startNdjson(HttpServletResponse response) {
+        if (!NDJSON.equals(response.getContentType())) {
+            response.setContentType(NDJSON);
+        }
+    }
+
+    private ResponseEntity<List<BookingReturnDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNext() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext());
+        }
+        return response.body(page.getBookings());
     }
 
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Результат для одного бронирования пакетного запроса: index - его позиция в запросе,
+ * заполнено либо booking, либо error.
+ */
+@Data
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private int index;
+    private BookingReturnDto booking;
+    private String error;
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция последнего отданного бронирования в порядке (start desc, id desc).
+ * Клиент получает её в виде непрозрачной строки и передаёт обратно для запроса следующей страницы.
+ */
+@Data
+public class BookingCursor {
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(BookingReturnDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public String encode() {
+        String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalStateException("Некорректный курсор: " + cursor);
+        }
+    }
+}
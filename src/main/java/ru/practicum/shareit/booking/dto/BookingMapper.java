@@ -14,7 +14,8 @@ public class BookingMapper {
                 null,
                 null,
                 bookingDto.getStart(),
-                bookingDto.getEnd());
+                bookingDto.getEnd(),
+                null);
     }
 
     public static BookingDto toBookingDto(Booking booking) {
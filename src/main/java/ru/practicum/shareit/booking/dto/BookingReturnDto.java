@@ -17,4 +17,15 @@ public class BookingReturnDto {
     private ItemDto item;
     private LocalDateTime start;
     private LocalDateTime end;
+
+    /**
+     * Конструктор для проекций списков бронирований: запрос выбирает только нужные столбцы
+     * бронирования, автора и вещи вместо загрузки сущностей целиком.
+     */
+    public BookingReturnDto(Long id, BookingStatus status, Long bookerId, String bookerName, String bookerEmail,
+                            Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                            LocalDateTime start, LocalDateTime end) {
+        this(id, status, new UserDto(bookerId, bookerName, bookerEmail),
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable), start, end);
+    }
 }
@@ -16,20 +16,26 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
     @Enumerated(value = EnumType.STRING)
     @Column(name = "status")
     private BookingStatus status;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
+    @ToString.Exclude
     private User booker;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
+    @ToString.Exclude
     private Item item;
     @Column(name = "start_time")
     private LocalDateTime start;
     @Column(name = "end_time")
     private LocalDateTime end;
+    @Version
+    @Column(name = "version")
+    private Long version;
 
 }
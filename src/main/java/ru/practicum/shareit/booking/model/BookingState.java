@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.exception.EntityNotAvailableException;
+
+/**
+ * Состояние бронирования относительно текущего момента или его статуса, по которому фильтруются списки.
+ */
+public enum BookingState {
+    ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED;
+
+    public static BookingState from(String state) {
+        for (BookingState value : values()) {
+            if (value.name().equals(state)) {
+                return value;
+            }
+        }
+        throw new EntityNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры выборки бронирований: чьи бронирования (автора или владельца вещей), в каком состоянии
+ * на момент now, пересекающиеся с окном [windowStart, windowEnd), в каком направлении сортировать
+ * по (start, id) и после какой позиции курсора продолжать. Незаданные границы окна и курсор не ограничивают выборку.
+ */
+@Getter
+@Builder
+@ToString
+public class BookingQuery {
+    public enum Role {
+        BOOKER, OWNER
+    }
+
+    private final Role role;
+    private final Long userId;
+    @Builder.Default
+    private final BookingState state = BookingState.ALL;
+    private final LocalDateTime now;
+    private final LocalDateTime windowStart;
+    private final LocalDateTime windowEnd;
+    @Builder.Default
+    private final Sort.Direction direction = Sort.Direction.DESC;
+    private final BookingCursor after;
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingQueryRepository {
+
+    /**
+     * Бронирования, подходящие под query, одним запросом с проекцией в BookingReturnDto.
+     */
+    List<BookingReturnDto> findBookings(BookingQuery query, Pageable pageable);
+
+    /**
+     * Число бронирований, подходящих под query, без учёта курсора.
+     */
+    long countBookings(BookingQuery query);
+
+    /**
+     * Бронирования, подходящие под query, потоком: строки читаются из БД порциями по мере обхода,
+     * в контекст персистентности ничего не попадает. Поток нужно закрыть внутри транзакции.
+     */
+    Stream<BookingReturnDto> streamBookings(BookingQuery query);
+}
@@ -6,44 +6,49 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query(value = "select b from Booking as b where b.booker.id = ?1 order by b.start desc")
-    List<Booking> findBookingsByBooker(Long bookerId);
-
-    @Query(value = "select b from Booking as b where b.booker.id = ?1 and b.start > ?2 order by b.start desc")
-    List<Booking> findFutureBookingsByBooker(Long bookerId, LocalDateTime dateTime);
-
-    @Query(value = "select b from Booking as b where b.item.id = ?1 order by b.start desc")
-    List<Booking> findBookingsByItem(Long itemId);
-
-    @Query(value = "select b from Booking as b where b.item.id = ?1 and b.start > ?2 order by b.start desc")
-    List<Booking> findFutureBookingsByItem(Long bookerId, LocalDateTime dateTime);
-
-    @Query(value = "select b from Booking as b where b.item.id = ?1 order by b.start asc")
-    List<Booking> findBookingsByItemAsc(Long itemId);
-
-    @Query(value = "select b from Booking as b where b.item.id = ?1 and b.status = ?2 order by b.start desc")
-    List<Booking> findBookingsByItemAndStatus(Long bookerId, BookingStatus status);
-
-    @Query(value = "select b from Booking as b where b.booker.id = ?1 and b.status = ?2 order by b.start desc")
-    List<Booking> findBookingsByBookerAndStatus(Long bookerId, BookingStatus status);
-
+import java.util.Optional;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    @Query(value = "select b from Booking as b join fetch b.item join fetch b.booker where b.id = ?1")
+    Optional<Booking> findBookingById(Long bookingId);
+
+    @Query(value = "select b from Booking as b join fetch b.item as i join fetch b.booker " +
+            "where i.id in ?1 and b.start = (select max(l.start) from Booking as l " +
+            "where l.item = b.item and l.start <= ?2) order by b.id")
+    List<Booking> findLastBookingsForItems(Collection<Long> itemIds, LocalDateTime time);
+
+    @Query(value = "select b from Booking as b join fetch b.item as i join fetch b.booker " +
+            "where i.id in ?1 and b.start = (select min(n.start) from Booking as n " +
+            "where n.item = b.item and n.start > ?2) order by b.id")
+    List<Booking> findNextBookingsForItems(Collection<Long> itemIds, LocalDateTime time);
+
+    /**
+     * Бронирования вещей itemIds в статусе status, пересекающиеся с интервалом [start, end).
+     * Одним запросом на всю пачку новых бронирований, пересечения с каждым проверяются в памяти.
+     */
     @Query(value = "select b from Booking as b " +
-            "where b.booker.id =?1 and b.item.id = ?2 and b.status <> ?3 order by b.start desc")
-    List<Booking> findBookingsByBookerAndItemAndStatusNot(Long userId, Long itemId, BookingStatus status);
-
-    @Query(value = "select b from Booking as b WHERE b.start < ?2 and b.end > ?2 and b.booker.id = ?1 ORDER BY b.start")
-    List<Booking> findCurrentBookingForUser(Long userId, LocalDateTime time);
-
-    @Query(value = "select b from Booking as b WHERE b.start < ?2 and b.end > ?2 and b.item.id = ?1 ORDER BY b.start")
-    List<Booking> findCurrentBookingForOwner(Long itemId, LocalDateTime time);
-
-    @Query(value = "select b from Booking as b WHERE b.end < ?2 and b.booker.id = ?1 ORDER BY b.start")
-    List<Booking> findPastBookingForUser(Long userId, LocalDateTime time);
-
-    @Query(value = "select b from Booking as b WHERE  b.end < ?2 and b.item.id = ?1 ORDER BY b.start")
-    List<Booking> findPastBookingForOwner(Long itemId, LocalDateTime time);
+            "where b.item.id in ?1 and b.status = ?2 and b.start < ?4 and b.end > ?3")
+    List<Booking> findOverlapping(Collection<Long> itemIds, BookingStatus status, LocalDateTime start,
+                                  LocalDateTime end);
+
+    /**
+     * Есть ли у вещи бронирование в статусе status, пересекающееся с интервалом [start, end).
+     * Обслуживается индексом bookings(item_id, start_time, end_time).
+     */
+    @Query(value = "select case when count(b) > 0 then true else false end from Booking as b " +
+            "where b.item.id = ?1 and b.status = ?2 and b.start < ?4 and b.end > ?3 and b.id <> ?5")
+    boolean existsOverlapping(Long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end,
+                              Long excludedBookingId);
+
+    /**
+     * Сколько бронирований вещи пользователем в статусе, отличном от status, завершилось к моменту time.
+     * Все бронирования классифицируются одним запросом: null - бронирований не было, 0 - есть только
+     * текущие и будущие.
+     */
+    @Query(value = "select sum(case when b.end < ?4 then 1 else 0 end) from Booking as b " +
+            "where b.booker.id = ?1 and b.item.id = ?2 and b.status <> ?3")
+    Long countFinishedBookings(Long userId, Long itemId, BookingStatus status, LocalDateTime time);
 
 }
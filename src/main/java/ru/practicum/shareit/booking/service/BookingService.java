@@ -1,20 +1,29 @@
 package ru.practicum.shareit.booking.service;
 
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingReturnDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingReturnDto addBooking(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResultDto> addBookings(List<BookingDto> bookingDtos, Long userId);
+
     BookingReturnDto patchBooking(Long bookingId, Long userId, boolean approved);
 
     BookingReturnDto getBooking(Long bookingId, Long userId);
 
-    List<BookingReturnDto> getUserBookingList(Long userId, String state);
+    BookingPageDto getUserBookingList(Long userId, String state, Integer from, Integer size, String cursor);
+
+    BookingPageDto getOwnerBookingList(Long userId, String state, Integer from, Integer size, String cursor);
+
+    void exportUserBookings(Long userId, String state, Consumer<BookingReturnDto> consumer);
 
-    List<BookingReturnDto> getOwnerBookingList(Long userId, String state);
+    void exportOwnerBookings(Long userId, String state, Consumer<BookingReturnDto> consumer);
 
 }
@@ -1,35 +1,69 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.EntityNotAvailableException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.exception.IntegrityViolations;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.time.CurrentTime;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import org.springframework.transaction.annotation.Transactional;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Long NO_BOOKING = 0L;
+    private static final String APPROVED_OVERLAP_CONSTRAINT = "excl_bookings_approved_overlap";
+
     private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final ItemBookingLocks itemBookingLocks;
     private final ItemService itemService;
     private final UserService userService;
+    private final CurrentTime currentTime;
+    private final Validator validator;
+    @Value("${shareit.bookings.batch-limit:500}")
+    private int batchLimit;
+    @Value("${shareit.bookings.batch-item-limit:32}")
+    private int batchItemLimit;
 
     @Override
     @Transactional
@@ -42,19 +76,82 @@ public class BookingServiceImpl implements BookingService {
         if (item.getUserId().equals(userId)) {
             throw new EntityNotFoundException("Невозможно забронировать свой предмет");
         }
+        itemBookingLocks.lockUntilTransactionEnds(item.getId());
+        if (bookingRepository.existsOverlapping(item.getId(), BookingStatus.APPROVED,
+                bookingDto.getStart(), bookingDto.getEnd(), NO_BOOKING)) {
+            throw new BookingConflictException("Предмет уже забронирован на эти даты");
+        }
         UserDto booker = userService.getUserById(userId);
         Booking booking = BookingMapper.toBooking(bookingDto);
         booking.setItem(item);
         booking.setBooker(UserMapper.toUser(booker));
-        userService.getUserById(userId);
         booking.setStatus(BookingStatus.WAITING);
         return BookingMapper.toBookingReturnDto(bookingRepository.save(booking));
     }
 
+    /**
+     * Создаёт пачку бронирований одного пользователя. Вещи пачки читаются одним запросом и блокируются
+     * вместе, подтверждённые бронирования этих вещей - тоже одним запросом на общий интервал пачки.
+     * Ошибка в бронировании не отменяет остальные, она возвращается в его результате.
+     * Новые бронирования вставляются пакетами JDBC при завершении транзакции.
+     * Разных вещей в пачке не больше batchItemLimit: иначе пачка держала бы до конца транзакции
+     * большую часть полос блокировок и задерживала одиночные бронирования всех вещей.
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> addBookings(List<BookingDto> bookingDtos, Long userId) {
+        if (bookingDtos.size() > batchLimit) {
+            throw new IllegalStateException("В одном запросе можно создать не более " + batchLimit + " бронирований");
+        }
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (itemIds.size() > batchItemLimit) {
+            throw new IllegalStateException("В одном запросе можно бронировать не более " + batchItemLimit
+                    + " разных вещей");
+        }
+        User booker = UserMapper.toUser(userService.getUserById(userId));
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        itemBookingLocks.lockAllUntilTransactionEnds(items.keySet());
+        Map<Long, List<Booking>> approved = findApproved(bookingDtos, items.keySet());
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            if (bookingDto == null) {
+                results.add(new BookingBatchResultDto(i, null, "Бронирование не может быть пустым"));
+                continue;
+            }
+            String error = validateBatchBooking(bookingDto, items.get(bookingDto.getItemId()), userId,
+                    approved.getOrDefault(bookingDto.getItemId(), List.of()));
+            if (error != null) {
+                results.add(new BookingBatchResultDto(i, null, error));
+                continue;
+            }
+            Booking booking = BookingMapper.toBooking(bookingDto);
+            booking.setItem(items.get(bookingDto.getItemId()));
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+            results.add(new BookingBatchResultDto(i, null, null));
+        }
+        Iterator<Booking> saved = bookingRepository.saveAll(bookings).iterator();
+        for (BookingBatchResultDto result : results) {
+            if (result.getError() == null) {
+                result.setBooking(BookingMapper.toBookingReturnDto(saved.next()));
+            }
+        }
+        return results;
+    }
+
     @Override
     @Transactional
     public BookingReturnDto patchBooking(Long bookingId, Long userId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findBookingById(bookingId).orElseThrow(() -> {
             throw new EntityNotFoundException("Бронирование не найдено");
         });
 
@@ -65,17 +162,32 @@ public class BookingServiceImpl implements BookingService {
             if (booking.getStatus().equals(BookingStatus.APPROVED)) {
                 throw new IllegalStateException("Бронирование уже подтверждено");
             }
+            itemBookingLocks.lockUntilTransactionEnds(booking.getItem().getId());
+            itemRepository.lockById(booking.getItem().getId());
+            if (bookingRepository.existsOverlapping(booking.getItem().getId(), BookingStatus.APPROVED,
+                    booking.getStart(), booking.getEnd(), booking.getId())) {
+                throw new BookingConflictException("Предмет уже забронирован на эти даты");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         }
         if (booking.getItem().getUserId().equals(userId) && !approved) {
             booking.setStatus(BookingStatus.REJECTED);
         }
-        return BookingMapper.toBookingReturnDto(bookingRepository.save(booking));
+        // на PostgreSQL пересечение подтверждённых бронирований запрещает и исключающее ограничение,
+        // поэтому изменение сбрасывается сразу, чтобы его нарушение стало конфликтом, а не ошибкой коммита
+        try {
+            return BookingMapper.toBookingReturnDto(bookingRepository.saveAndFlush(booking));
+        } catch (DataIntegrityViolationException e) {
+            if (IntegrityViolations.violates(e, APPROVED_OVERLAP_CONSTRAINT)) {
+                throw new BookingConflictException("Предмет уже забронирован на эти даты");
+            }
+            throw e;
+        }
     }
 
     @Override
     public BookingReturnDto getBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        Booking booking = bookingRepository.findBookingById(bookingId).orElseThrow(() -> {
             throw new EntityNotFoundException("Бронирование не найдено");
         });
 
@@ -86,81 +198,110 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingReturnDto> getUserBookingList(Long userId, String state) {
-        userService.getUserById(userId);
-        switch (state) {
-            case "FUTURE":
-                return bookingRepository.findFutureBookingsByBooker(userId, LocalDateTime.now())
-                        .stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "ALL":
-                return bookingRepository.findBookingsByBooker(userId).stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "WAITING":
-                return bookingRepository
-                        .findBookingsByBookerAndStatus(userId, BookingStatus.WAITING).stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "REJECTED":
-                return bookingRepository
-                        .findBookingsByBookerAndStatus(userId, BookingStatus.REJECTED).stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "CURRENT":
-                return bookingRepository.findCurrentBookingForUser(userId, LocalDateTime.now()).stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "PAST":
-                return bookingRepository.findPastBookingForUser(userId, LocalDateTime.now()).stream()
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            default:
-                throw new EntityNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
-        }
+    public BookingPageDto getUserBookingList(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getBookingList(BookingQuery.Role.BOOKER, userId, state, from, size, cursor);
+    }
+
+    @Override
+    public BookingPageDto getOwnerBookingList(Long userId, String state, Integer from, Integer size, String cursor) {
+        return getBookingList(BookingQuery.Role.OWNER, userId, state, from, size, cursor);
+    }
+
+    @Override
+    public void exportUserBookings(Long userId, String state, Consumer<BookingReturnDto> consumer) {
+        exportBookings(BookingQuery.Role.BOOKER, userId, state, consumer);
     }
 
     @Override
-    public List<BookingReturnDto> getOwnerBookingList(Long userId, String state) {
-        userService.getUserById(userId);
-        Stream<Long> itemsId = itemService.getItems(userId).stream().map(ItemDto::getId);
-        switch (state) {
-            case "FUTURE":
-                return itemsId.flatMap((id) ->
-                                bookingRepository.findFutureBookingsByItem(
-                                        id, LocalDateTime.now()).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .sorted((t1, t2) -> -t1.getStart().compareTo(t2.getStart()))
-                        .collect(Collectors.toList());
-
-            case "ALL":
-                return itemsId.flatMap((id) -> bookingRepository.findBookingsByItem(id).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "WAITING":
-                return itemsId.flatMap((id) -> bookingRepository
-                                .findBookingsByItemAndStatus(id, BookingStatus.WAITING).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "REJECTED":
-                return itemsId.flatMap((id) -> bookingRepository
-                                .findBookingsByItemAndStatus(id, BookingStatus.REJECTED).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "CURRENT":
-                return itemsId.flatMap((id) -> bookingRepository
-                                .findCurrentBookingForOwner(id, LocalDateTime.now()).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            case "PAST":
-                return itemsId.flatMap((id) -> bookingRepository
-                                .findPastBookingForOwner(id, LocalDateTime.now()).stream())
-                        .map(BookingMapper::toBookingReturnDto)
-                        .collect(Collectors.toList());
-            default:
-                throw new EntityNotAvailableException("Unknown state: UNSUPPORTED_STATUS");
+    public void exportOwnerBookings(Long userId, String state, Consumer<BookingReturnDto> consumer) {
+        exportBookings(BookingQuery.Role.OWNER, userId, state, consumer);
+    }
+
+    private void exportBookings(BookingQuery.Role role, Long userId, String state,
+                                Consumer<BookingReturnDto> consumer) {
+        checkUserExists(userId);
+        BookingQuery query = BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(BookingState.from(state))
+                .now(currentTime.now())
+                .build();
+        try (Stream<BookingReturnDto> bookings = bookingRepository.streamBookings(query)) {
+            bookings.forEach(consumer);
+        }
+    }
+
+    private BookingPageDto getBookingList(BookingQuery.Role role, Long userId, String state,
+                                          Integer from, Integer size, String cursor) {
+        checkUserExists(userId);
+        BookingQuery query = BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(BookingState.from(state))
+                .now(currentTime.now())
+                .after(BookingCursor.decode(cursor))
+                .build();
+        Pageable page = OffsetPageRequest.of(query.getAfter() == null ? from : null, size);
+        return toBookingPage(bookingRepository.findBookings(query, page), page);
+    }
+
+    private BookingPageDto toBookingPage(List<BookingReturnDto> result, Pageable page) {
+        String next = null;
+        if (page.isPaged() && !result.isEmpty() && result.size() == page.getPageSize()) {
+            next = BookingCursor.of(result.get(result.size() - 1)).encode();
+        }
+        return new BookingPageDto(result, next);
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userService.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь не найден");
+        }
+    }
+
+    private Map<Long, List<Booking>> findApproved(List<BookingDto> bookingDtos, Set<Long> itemIds) {
+        List<BookingDto> dated = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .filter(bookingDto -> bookingDto.getStart() != null && bookingDto.getEnd() != null)
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty() || dated.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime start = dated.stream().map(BookingDto::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = dated.stream().map(BookingDto::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        return bookingRepository.findOverlapping(itemIds, BookingStatus.APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+    }
+
+    /**
+     * Те же проверки, что при создании одного бронирования, но вместо исключения возвращается сообщение.
+     */
+    private String validateBatchBooking(BookingDto bookingDto, Item item, Long userId, List<Booking> approved) {
+        if (bookingDto.getItemId() == null || bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+            return "Не указаны вещь или даты бронирования";
+        }
+        Set<ConstraintViolation<BookingDto>> violations = validator.validate(bookingDto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (bookingDto.getStart().isAfter(bookingDto.getEnd())) {
+            return "Дата начала бронирования не может быть позже даты завершения";
+        }
+        if (item == null) {
+            return "Предмет с id " + bookingDto.getItemId() + " не найден";
+        }
+        if (!item.getAvailable()) {
+            return "Предмет недоступен";
+        }
+        if (item.getUserId().equals(userId)) {
+            return "Невозможно забронировать свой предмет";
+        }
+        boolean overlaps = approved.stream().anyMatch(booking -> booking.getStart().isBefore(bookingDto.getEnd())
+                && booking.getEnd().isAfter(bookingDto.getStart()));
+        if (overlaps) {
+            return "Предмет уже забронирован на эти даты";
         }
+        return null;
     }
 
     private void validateBookingTime(BookingDto bookingDto) {
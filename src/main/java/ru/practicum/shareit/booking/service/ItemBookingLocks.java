@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.BookingConflictException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Полосатые блокировки по id вещи: бронирования одной вещи создаются и подтверждаются по очереди,
+ * разные вещи в большинстве случаев попадают на разные полосы и не ждут друг друга.
+ * Блокировка снимается после завершения текущей транзакции, чтобы следующий поток видел её результат.
+ * Действует в пределах одного экземпляра приложения, между экземплярами защищает блокировка строки вещи в БД.
+ */
+@Component
+public class ItemBookingLocks {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public ItemBookingLocks(@Value("${shareit.bookings.lock-stripes:256}") int stripeCount,
+                            @Value("${shareit.bookings.lock-timeout:5s}") Duration timeout) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        timeoutMillis = timeout.toMillis();
+    }
+
+    public void lockUntilTransactionEnds(Long itemId) {
+        checkTransaction();
+        lockUntilTransactionEnds(stripes[stripeOf(itemId)]);
+    }
+
+    /**
+     * Блокирует полосы всех вещей пачки. Полосы берутся по возрастанию номера,
+     * поэтому два потока с пересекающимися наборами вещей не могут ждать друг друга по кругу.
+     */
+    public void lockAllUntilTransactionEnds(Collection<Long> itemIds) {
+        checkTransaction();
+        itemIds.stream()
+                .map(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(stripe -> lockUntilTransactionEnds(stripes[stripe]));
+    }
+
+    private void lockUntilTransactionEnds(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new BookingConflictException("Предмет сейчас бронируется, повторите запрос");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Предмет сейчас бронируется, повторите запрос");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeOf(Long itemId) {
+        return Math.floorMod(itemId.hashCode(), stripes.length);
+    }
+
+    private void checkTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи возможна только внутри транзакции");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Ограниченные по размеру и времени жизни кэши Caffeine. Спецификации задаются свойствами shareit.cache.*,
+ * статистика попаданий, промахов и вытеснений доступна в /actuator/metrics/cache.*.
+ * Вытеснение из кэша при изменении данных выполняется только после коммита транзакции.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String USER_EXISTS = "userExists";
+    public static final String ITEMS = "items";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.users.spec}") String usersSpec,
+                                     @Value("${shareit.cache.items.spec}") String itemsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(USERS, Caffeine.from(usersSpec).build());
+        cacheManager.registerCustomCache(USER_EXISTS, Caffeine.from(usersSpec).build());
+        cacheManager.registerCustomCache(ITEMS, Caffeine.from(itemsSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache instanceof TransactionAwareCacheDecorator) {
+                    cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+                }
+                if (cache instanceof CaffeineCache) {
+                    Gauge.builder("cache.hit.ratio", ((CaffeineCache) cache).getNativeCache(),
+                                    nativeCache -> nativeCache.stats().hitRate())
+                            .tag("cache", name)
+                            .description("Доля попаданий в кэш с момента запуска")
+                            .register(registry);
+                }
+            }
+        };
+    }
+}
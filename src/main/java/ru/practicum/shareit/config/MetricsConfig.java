@@ -0,0 +1,40 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.metrics.QueryCountingDataSourcePostProcessor;
+import ru.practicum.shareit.metrics.RequestQueryMetricsInterceptor;
+import ru.practicum.shareit.metrics.ServiceTimingAspect;
+
+/**
+ * Метрики поверх стандартных http.server.requests и hikaricp.*: время методов сервисов,
+ * число запросов к БД и время JDBC на каждый HTTP-запрос. Доступны через /actuator/metrics
+ * и /actuator/prometheus.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+    @Value("${shareit.metrics.statements-warn-threshold:50}")
+    private int statementsWarnThreshold;
+
+    @Bean
+    public static QueryCountingDataSourcePostProcessor queryCountingDataSourcePostProcessor() {
+        return new QueryCountingDataSourcePostProcessor();
+    }
+
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect() {
+        return new ServiceTimingAspect(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestQueryMetricsInterceptor(meterRegistry, statementsWarnThreshold));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Обработка запросов на виртуальных потоках (shareit.threads.virtual=true): Tomcat запускает каждый запрос
+ * в новом виртуальном потоке, и сервисы с репозиториями выполняются в нём же, так что ожидание JDBC
+ * не занимает поток платформы. Одновременных обращений к БД по-прежнему не больше размера пула Hikari.
+ * Исполнитель создаётся через reflection, чтобы проект собирался и под Java 11; запуск требует JDK 21+.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Запросы обрабатываются на виртуальных потоках");
+            return executor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Виртуальные потоки требуют JDK 21 или новее, запущено на "
+                    + Runtime.version());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
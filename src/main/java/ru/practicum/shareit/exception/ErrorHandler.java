@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -25,9 +26,10 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler(EntityAlreadyExistException.class)
+    @ExceptionHandler({EntityAlreadyExistException.class, BookingConflictException.class,
+            OptimisticLockingFailureException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse conflictExceptionHandler(final EntityAlreadyExistException e) {
+    public ErrorResponse conflictExceptionHandler(final RuntimeException e) {
         return new ErrorResponse(e.getMessage());
     }
 }
\ No newline at end of file
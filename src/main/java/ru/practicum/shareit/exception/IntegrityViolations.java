@@ -0,0 +1,32 @@
+package ru.practicum.shareit.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Определяет, какое ограничение БД нарушено. Hibernate извлекает имя не для всех ограничений
+ * (например, не для исключающих в PostgreSQL), поэтому имя ищется и в сообщениях драйвера.
+ */
+public final class IntegrityViolations {
+    private IntegrityViolations() {
+    }
+
+    public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violated = ((ConstraintViolationException) cause).getConstraintName();
+                if (violated != null && violated.toLowerCase(Locale.ROOT).contains(name)) {
+                    return true;
+                }
+            }
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,13 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.service.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.item.dto.CommentDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 import java.util.List;
 
 
@@ -16,9 +23,13 @@ import java.util.List;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class ItemController {
 
+    public static final String CSV = "text/csv";
+
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
 
     @PostMapping
     public ItemDto addItem(@RequestHeader("X-Sharer-User-Id") long userId, @Validated({Create.class}) @RequestBody ItemDto itemDto) {
@@ -26,6 +37,19 @@ public class ItemController {
         return itemService.addItem(itemDto, userId);
     }
 
+    /**
+     * Тело читается из запроса потоком, без буферизации целиком, и разбирается по строкам в ItemImporter.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, CSV})
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           HttpServletRequest request) throws IOException {
+        log.info("Получен запрос на импорт предметов пользователем с id {}", userId);
+        if (MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))) {
+            return itemImporter.importCsv(userId, request.getInputStream());
+        }
+        return itemImporter.importJson(userId, request.getInputStream());
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                  @PathVariable long itemId,
@@ -44,9 +68,11 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItem(@RequestParam String text) {
+    public List<ItemDto> searchItem(@RequestParam String text,
+                                    @RequestParam(required = false) @PositiveOrZero Integer from,
+                                    @RequestParam(required = false) @Positive Integer size) {
         log.info("Получен запрос на поиск предмета по тексту - {}", text);
-        return itemService.searchItem(text);
+        return itemService.searchItem(text, from, size);
     }
 
     @GetMapping("/{itemId}")
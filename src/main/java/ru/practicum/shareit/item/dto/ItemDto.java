@@ -3,11 +3,11 @@ package ru.practicum.shareit.item.dto;
 import lombok.*;
 import ru.practicum.shareit.Create;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,8 +15,10 @@ import java.util.List;
 public class ItemDto {
     private final Long id;
     @NotBlank(groups = {Create.class})
+    @Size(max = 255, groups = {Create.class})
     private final String name;
     @NotBlank(groups = {Create.class})
+    @Size(max = 255, groups = {Create.class})
     private final String description;
     @NotNull(groups = {Create.class})
     private final Boolean available;
@@ -24,5 +26,5 @@ public class ItemDto {
     private BookingDto nextBooking;
     private List<CommentDto> comments = new ArrayList<>();
     private User owner;
-    private ItemRequest request;
+    private Long requestId;
 }
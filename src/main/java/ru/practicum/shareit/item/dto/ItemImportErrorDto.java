@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Ошибка импорта: row - номер строки данных, начиная с 1.
+ */
+@Data
+@AllArgsConstructor
+public class ItemImportErrorDto {
+    private long row;
+    private String error;
+}
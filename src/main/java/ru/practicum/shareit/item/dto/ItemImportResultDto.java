@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Отчёт об импорте вещей: errors содержит только первые ошибки, их общее число - failed.
+ */
+@Data
+@AllArgsConstructor
+public class ItemImportResultDto {
+    private long imported;
+    private long failed;
+    private List<ItemImportErrorDto> errors;
+}
@@ -5,11 +5,13 @@ import ru.practicum.shareit.item.model.Item;
 public class ItemMapper {
 
     public static ItemDto toItemDto(Item item) {
-        return new ItemDto(
+        ItemDto itemDto = new ItemDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getAvailable());
+        itemDto.setRequestId(item.getRequestId());
+        return itemDto;
     }
 
     public static Item toItem(ItemDto itemDto) {
@@ -18,6 +20,7 @@ public class ItemMapper {
                 itemDto.getName(),
                 itemDto.getDescription(),
                 itemDto.getAvailable(),
-                null);
+                null,
+                itemDto.getRequestId());
     }
 }
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
     @Column(name = "text")
     private String text;
@@ -13,7 +13,8 @@ import javax.persistence.*;
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
     @Column(name = "name")
     private String name;
@@ -24,6 +25,8 @@ public class Item {
     @CollectionTable(name = "users", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "userId")
     private Long userId;
+    @Column(name = "request_id")
+    private Long requestId;
 }
 
 
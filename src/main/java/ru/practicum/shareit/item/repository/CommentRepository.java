@@ -1,11 +1,32 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findCommentsByItemOrderByCreatedDesc(Item item);
+    @Query(value = "select c from Comment as c join fetch c.item as i join fetch c.author " +
+            "where i.id in ?1 order by c.created desc, c.id desc")
+    List<Comment> findByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * Id не более limit последних комментариев каждой вещи. Нумерация внутри вещи идёт по индексу
+     * idx_comments_item_created, поэтому каждый комментарий читается один раз.
+     */
+    @Query(value = "select ranked.id from (select c.id, row_number() over (partition by c.item_id " +
+            "order by c.created desc, c.id desc) as comment_rank from comments as c where c.item_id in ?1) as ranked " +
+            "where ranked.comment_rank <= ?2", nativeQuery = true)
+    List<Long> findLatestIdsByItemIdIn(Collection<Long> itemIds, long limit);
+
+    @Query(value = "select c from Comment as c join fetch c.item join fetch c.author " +
+            "where c.id in ?1 order by c.created desc, c.id desc")
+    List<Comment> findByIdIn(Collection<Long> ids);
+
+    default List<Comment> findLatestByItemIdIn(Collection<Long> itemIds, long limit) {
+        List<Long> ids = findLatestIdsByItemIdIn(itemIds, limit);
+        return ids.isEmpty() ? List.of() : findByIdIn(ids);
+    }
 }
@@ -1,13 +1,47 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findItemByNameContainsIgnoreCase(String name);
+    List<Item> findByUserIdOrderById(Long userId);
 
-    List<Item> findItemByDescriptionContainsIgnoreCase(String description);
-}
+    /**
+     * Вещи, добавленные в ответ на запросы requestIds: одним запросом на всю страницу запросов.
+     */
+    List<Item> findByRequestIdInOrderById(Collection<Long> requestIds);
+
+    /**
+     * Блокирует строку вещи до конца транзакции. Сериализует подтверждение бронирований одной вещи,
+     * не мешая операциям с другими вещами.
+     */
+    @Query(value = "select id from items where id = ?1 for update", nativeQuery = true)
+    Optional<Long> lockById(Long itemId);
 
+    /**
+     * Поиск доступных вещей по подстроке в названии или описании.
+     * Совпадения в названии идут первыми. На PostgreSQL условие обслуживают триграммные индексы
+     * по lower(name) и lower(description) из db/migration/postgresql/V3_1__item_search_trigram_indexes.sql.
+     *
+     * @param pattern шаблон LIKE в нижнем регистре, спецсимволы экранированы через '\'
+     */
+    @Query(value = "select i from Item as i where i.available = true " +
+            "and (lower(i.name) like ?1 escape '\\' or lower(i.description) like ?1 escape '\\') " +
+            "order by case when lower(i.name) like ?1 escape '\\' then 0 else 1 end, i.id")
+    List<Item> searchAvailable(String pattern, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select i from Item as i order by i.id")
+    Stream<Item> streamAll();
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Поиск по индексу в памяти приложения для развёртываний, где в БД нельзя создать триграммные индексы.
+ * Индекс строится при старте потоковым чтением вещей и обновляется после коммита addItem/updateItem.
+ * Изменения, сделанные в обход сервиса или другими экземплярами приложения, в индекс не попадают.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.items.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    private final ItemSearchIndex index = new ItemSearchIndex();
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            index.clear();
+            try (Stream<Item> items = itemRepository.streamAll()) {
+                items.forEach(item -> {
+                    index.put(item.getId(), item.getName(), item.getDescription(),
+                            Boolean.TRUE.equals(item.getAvailable()));
+                    entityManager.detach(item);
+                });
+            }
+        });
+        log.info("Индекс поиска вещей построен, документов: {}", index.size());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable page) {
+        if (page.isUnpaged()) {
+            return index.search(text, 0, Integer.MAX_VALUE);
+        }
+        return index.search(text, page.getOffset(), page.getPageSize());
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(id, name, description, available);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(id, name, description, available);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании без учёта регистра.
+ * Реализация выбирается свойством shareit.items.search.engine: database (по умолчанию) или memory.
+ */
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text, Pageable page);
+
+    /**
+     * Сообщает движку о новой или изменённой вещи. Вызывается сервисом после сохранения.
+     */
+    void index(Item item);
+}
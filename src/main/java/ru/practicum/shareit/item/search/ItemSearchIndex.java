@@ -0,0 +1,165 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный инвертированный индекс по названию и описанию вещей.
+ * Запрос короче триграммы проверяется перебором документов, длиннее - пересечением списков id
+ * по всем его триграммам с последующей проверкой подстроки, что совпадает с ContainsIgnoreCase.
+ * Порядок результатов такой же, как у поиска в БД: сначала совпадения в названии, затем по id.
+ */
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, String description, boolean available) {
+        Document document = new Document(id, name, description, available);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(id, document);
+            if (previous != null) {
+                for (long gram : previous.grams()) {
+                    LongPostingList list = postings.get(gram);
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (long gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new LongPostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, long offset, int limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Document> nameMatches = new ArrayList<>();
+        List<Document> descriptionMatches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM) {
+                for (Document document : documents.values()) {
+                    classify(document, query, nameMatches, descriptionMatches);
+                }
+            } else {
+                long[] candidates = candidates(query);
+                for (long id : candidates) {
+                    classify(documents.get(id), query, nameMatches, descriptionMatches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        nameMatches.addAll(descriptionMatches);
+        List<ItemDto> result = new ArrayList<>();
+        for (long i = offset; i < nameMatches.size() && result.size() < limit; i++) {
+            result.add(nameMatches.get((int) i).toItemDto());
+        }
+        return result;
+    }
+
+    private long[] candidates(String query) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (long gram : grams(query)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] candidates = lists.get(0).toArray();
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retain(candidates, count);
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private static void classify(Document document, String query,
+                                 List<Document> nameMatches, List<Document> descriptionMatches) {
+        if (!document.available) {
+            return;
+        }
+        if (document.lowerName.contains(query)) {
+            nameMatches.add(document);
+        } else if (document.lowerDescription.contains(query)) {
+            descriptionMatches.add(document);
+        }
+    }
+
+    private static Set<Long> grams(String... lowerTexts) {
+        Set<Long> grams = new HashSet<>();
+        for (String lower : lowerTexts) {
+            for (int i = 0; i + GRAM <= lower.length(); i++) {
+                grams.add(((long) lower.charAt(i) << 32) | ((long) lower.charAt(i + 1) << 16) | lower.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final String lowerName;
+        private final String lowerDescription;
+        private final boolean available;
+
+        Document(long id, String name, String description, boolean available) {
+            this.id = id;
+            this.name = name == null ? "" : name;
+            this.description = description == null ? "" : description;
+            this.lowerName = this.name.toLowerCase(Locale.ROOT);
+            this.lowerDescription = this.description.toLowerCase(Locale.ROOT);
+            this.available = available;
+        }
+
+        Set<Long> grams() {
+            return ItemSearchIndex.grams(lowerName, lowerDescription);
+        }
+
+        ItemDto toItemDto() {
+            return new ItemDto(id, name, description, available);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный по возрастанию список id без повторов на примитивном массиве.
+ * Id вещей растут монотонно, поэтому добавление почти всегда происходит в конец.
+ */
+class LongPostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    boolean add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Оставляет из отсортированного массива кандидатов только id, присутствующие в списке.
+     *
+     * @return число оставшихся кандидатов, они сдвигаются в начало массива
+     */
+    int retain(long[] candidates, int count) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (contains(candidates[i])) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+}
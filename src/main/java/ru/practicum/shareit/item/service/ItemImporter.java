@@ -0,0 +1,202 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.Create;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт вещей владельца из JSON-массива или CSV с заголовком (name,description,available).
+ * Поток читается по одной строке, строки проверяются группой Create и сохраняются пачками по batchSize,
+ * каждая пачка в отдельной транзакции. В памяти держатся только текущая пачка и первые maxErrors ошибок,
+ * поэтому размер импорта не ограничен кучей. Некорректная строка попадает в отчёт и не мешает остальным;
+ * пачка, отвергнутая ограничениями БД, сохраняется заново по одной строке, чтобы в отчёт попали только
+ * виновные строки. Ошибка разбора самого потока останавливает импорт, уже сохранённые пачки остаются.
+ */
+@Slf4j
+@Service
+public class ItemImporter {
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${shareit.items.import.batch-size:500}")
+    private int batchSize;
+    @Value("${shareit.items.import.max-errors:100}")
+    private int maxErrors;
+
+    public ItemImporter(ItemRepository itemRepository, ItemSearchEngine itemSearchEngine, UserService userService,
+                        ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ItemImportResultDto importJson(long userId, InputStream in) throws IOException {
+        checkUser(userId);
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Ожидается JSON-массив вещей");
+            }
+            return importRows(userId, () -> {
+                JsonToken token = parser.nextToken();
+                return token == null || token == JsonToken.END_ARRAY ? null : parser.readValueAsTree();
+            });
+        }
+    }
+
+    public ItemImportResultDto importCsv(long userId, InputStream in) throws IOException {
+        checkUser(userId);
+        try (MappingIterator<JsonNode> rows = csvMapper.readerFor(JsonNode.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in)) {
+            return importRows(userId, () -> rows.hasNextValue() ? rows.nextValue() : null);
+        }
+    }
+
+    private ItemImportResultDto importRows(long userId, RowReader reader) {
+        ItemImportResultDto result = new ItemImportResultDto(0, 0, new ArrayList<>());
+        List<Item> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        long row = 0;
+        try {
+            for (JsonNode node = reader.next(); node != null; node = reader.next()) {
+                row++;
+                try {
+                    Item item = toItem(node);
+                    // id из файла не используется: иначе saveAll обновил бы существующую вещь;
+                    // к запросам импортированные вещи не привязываются
+                    item.setId(null);
+                    item.setRequestId(null);
+                    item.setUserId(userId);
+                    batch.add(item);
+                    batchRows.add(row);
+                } catch (IllegalStateException e) {
+                    addError(result, row, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    save(batch, batchRows, result);
+                }
+            }
+        } catch (IOException e) {
+            addError(result, row + 1, "Ошибка разбора, импорт остановлен: " + e.getMessage());
+        }
+        save(batch, batchRows, result);
+        log.info("Импорт вещей пользователя с id {}: сохранено {}, ошибок {}", userId, result.getImported(),
+                result.getFailed());
+        return result;
+    }
+
+    private Item toItem(JsonNode node) {
+        ItemDto itemDto;
+        try {
+            itemDto = objectMapper.treeToValue(node, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Некорректная вещь: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto, Create.class);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return ItemMapper.toItem(itemDto);
+    }
+
+    private void save(List<Item> batch, List<Long> rows, ItemImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            saveInTransaction(batch);
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Пачка строк {}-{} импорта не сохранена, сохраняем по одной: {}", rows.get(0),
+                    rows.get(rows.size() - 1), e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    saveInTransaction(List.of(batch.get(i)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException rowError) {
+                    log.warn("Строка {} импорта не сохранена: {}", rows.get(i),
+                            rowError.getMostSpecificCause().getMessage());
+                    addError(result, rows.get(i), "Вещь отклонена ограничениями БД");
+                }
+            }
+        }
+        batch.clear();
+        rows.clear();
+    }
+
+    /**
+     * id, выданные в откатившейся транзакции, сбрасываются, иначе повторный saveAll принял бы вещи за существующие.
+     */
+    private void saveInTransaction(List<Item> items) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.saveAll(items);
+                items.forEach(itemSearchEngine::index);
+            });
+        } catch (DataIntegrityViolationException e) {
+            items.forEach(item -> item.setId(null));
+            throw e;
+        }
+    }
+
+    private void addError(ItemImportResultDto result, long row, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ItemImportErrorDto(row, error));
+        }
+    }
+
+    private void checkUser(long userId) {
+        if (!userService.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь не найден");
+        }
+    }
+
+    /**
+     * Следующая строка импорта или null, если поток закончился.
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        JsonNode next() throws IOException;
+    }
+}
@@ -15,7 +15,7 @@ public interface ItemService {
 
     Item getItemById(Long itemId);
 
-    List<ItemDto> searchItem(String text);
+    List<ItemDto> searchItem(String text, Integer from, Integer size);
 
     List<ItemDto> getItems(long userId);
 
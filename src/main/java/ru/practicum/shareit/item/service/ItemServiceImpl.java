@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -16,6 +20,10 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.time.CurrentTime;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,8 +31,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -35,16 +43,27 @@ public class ItemServiceImpl implements ItemService {
     private final UserService userService;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final CacheManager cacheManager;
+    private final CurrentTime currentTime;
+    private final ItemRequestRepository itemRequestRepository;
+    @Value("${shareit.items.comments-limit:0}")
+    private int commentsLimit;
 
     @Transactional
     @Override
     public ItemDto addItem(ItemDto itemDto, long userId) {
         Item item = ItemMapper.toItem(itemDto);
-        if (userService.getUserById(userId) == null) {
+        if (!userService.existsById(userId)) {
             throw new EntityNotFoundException("Пользователь не найден");
         }
+        if (item.getRequestId() != null && !itemRequestRepository.existsById(item.getRequestId())) {
+            throw new EntityNotFoundException("Запрос не найден");
+        }
         item.setUserId(userId);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Transactional
@@ -54,10 +73,7 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> {
             throw new EntityNotFoundException("Товар не найден");
         });
-        Set<Long> userItems = userService.getUserItems(userId).stream()
-                .map(Item::getId)
-                .collect(Collectors.toSet());
-        if (!userItems.contains(itemId)) {
+        if (!item.getUserId().equals(userId)) {
             throw new EntityNotFoundException("Предмет отсутсвует у данного пользователя");
         }
 
@@ -70,46 +86,49 @@ public class ItemServiceImpl implements ItemService {
         if (updatedItem.getAvailable() != null) {
             item.setAvailable(updatedItem.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        cacheManager.getCache(CacheConfig.ITEMS).evict(itemId);
+        return ItemMapper.toItemDto(savedItem);
     }
 
 
     @Override
     public ItemDto getById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> {
-            throw new EntityNotFoundException("Товар не найден");
-        });
+        Item item = getItemById(itemId);
         ItemDto itemDto = ItemMapper.toItemDto(item);
-        itemDto.setComments(commentRepository.findCommentsByItemOrderByCreatedDesc(item)
-                .stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList()));
+        setComments(List.of(itemDto));
         if (userId.equals(item.getUserId())) {
-            return setLastAndNextBookingForItem(itemDto);
-        } else {
-            return itemDto;
+            setLastAndNextBookings(List.of(itemDto));
         }
+        return itemDto;
     }
 
+    /**
+     * Возвращает вещь из кэша. Экземпляр общий для всех потоков и не привязан к сессии, изменять его нельзя:
+     * для изменения вещь загружается из репозитория. Параллельные промахи по одному id ждут одну загрузку.
+     */
     @Override
     public Item getItemById(Long itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> {
-            throw new EntityNotFoundException("Товар не найден");
-        });
+        try {
+            return cacheManager.getCache(CacheConfig.ITEMS).get(itemId, () -> itemRepository.findById(itemId)
+                    .orElseThrow(() -> {
+                        throw new EntityNotFoundException("Товар не найден");
+                    }));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     @Override
-    public List<ItemDto> searchItem(String text) {
+    public List<ItemDto> searchItem(String text, Integer from, Integer size) {
         if (!StringUtils.hasText(text)) {
             return new ArrayList<>();
         }
-        Stream<Item> findByName = itemRepository.findItemByNameContainsIgnoreCase(text).stream();
-        Stream<Item> findByDescription = itemRepository.findItemByDescriptionContainsIgnoreCase(text).stream();
-        return Stream.concat(findByDescription, findByName)
-                .distinct()
-                .filter(Item::getAvailable)
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return itemSearchEngine.search(text, OffsetPageRequest.of(from, size));
     }
 
     @Override
@@ -117,7 +136,7 @@ public class ItemServiceImpl implements ItemService {
         if (userId == 0) {
             return getAllItems();
         } else {
-            if (userService.getUserById(userId) == null) {
+            if (!userService.existsById(userId)) {
                 throw new EntityNotFoundException("Пользователь не найден");
             }
             return getItemByUser(userId);
@@ -125,64 +144,85 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private List<ItemDto> getAllItems() {
-        return itemRepository.findAll()
+        return setComments(itemRepository.findAll()
                 .stream()
                 .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     private List<ItemDto> getItemByUser(long userId) {
-        return userService.getUserItems(userId).stream()
+        return setComments(setLastAndNextBookings(itemRepository.findByUserIdOrderById(userId).stream()
                 .map(ItemMapper::toItemDto)
-                .sorted(Comparator.comparing(ItemDto::getId))
-                .map((this::setLastAndNextBookingForItem))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
     }
 
+    @Transactional
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
-        List<Booking> bookings = bookingRepository
-                .findBookingsByBookerAndItemAndStatusNot(userId, itemId, BookingStatus.REJECTED);
-        if (bookings.isEmpty()) {
+        LocalDateTime now = currentTime.now();
+        Long finished = bookingRepository.countFinishedBookings(userId, itemId, BookingStatus.REJECTED, now);
+        if (finished == null) {
             throw new IllegalStateException("У предмета не было бронирований");
         }
-        boolean future = true;
-        for (Booking booking : bookings) {
-            if (booking.getEnd().isBefore(LocalDateTime.now())) {
-                future = false;
-                break;
-            }
-        }
-        if (future) {
+        if (finished == 0) {
             throw new IllegalStateException("Комментарий не может быть оставлен к будущему бронированию");
         }
         Comment comment = CommentMapper.toComment(commentDto);
         comment.setItem(getItemById(itemId));
         comment.setAuthor(UserMapper.toUser(userService.getUserById(userId)));
-        comment.setCreated(LocalDateTime.now());
+        comment.setCreated(now);
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
-    private ItemDto setLastAndNextBookingForItem(ItemDto itemDto) {
-        Booking lastBooking = null;
-        Booking nextBooking = null;
-        List<Booking> bookings = bookingRepository.findBookingsByItemAsc(itemDto.getId());
-        for (int i = 0; i < bookings.size(); i++) {
-            Booking booking = bookings.get(i);
-            if (booking.getStart().isAfter(LocalDateTime.now())) {
-                nextBooking = booking;
-                if (i != 0) {
-                    lastBooking = bookings.get(i - 1);
-                }
-                break;
+    private List<ItemDto> setLastAndNextBookings(List<ItemDto> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        List<Long> itemIds = items.stream().map(ItemDto::getId).collect(Collectors.toList());
+        LocalDateTime now = currentTime.now();
+        return setLastAndNextBookings(items, bookingRepository.findLastBookingsForItems(itemIds, now),
+                bookingRepository.findNextBookingsForItems(itemIds, now));
+    }
+
+    /**
+     * Раскладывает найденные бронирования по вещам без обращения к БД; вынесено отдельно для ItemServiceBenchmark.
+     */
+    static List<ItemDto> setLastAndNextBookings(List<ItemDto> items, List<Booking> last, List<Booking> next) {
+        Map<Long, Booking> lastBookings = groupByItem(last);
+        Map<Long, Booking> nextBookings = groupByItem(next);
+        for (ItemDto itemDto : items) {
+            Booking lastBooking = lastBookings.get(itemDto.getId());
+            Booking nextBooking = nextBookings.get(itemDto.getId());
+            if (lastBooking != null) {
+                itemDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+            }
+            if (nextBooking != null) {
+                itemDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
             }
         }
-        if (lastBooking != null) {
-            itemDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+        return items;
+    }
+
+    private List<ItemDto> setComments(List<ItemDto> items) {
+        if (items.isEmpty()) {
+            return items;
         }
-        if (nextBooking != null) {
-            itemDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
+        List<Long> itemIds = items.stream().map(ItemDto::getId).collect(Collectors.toList());
+        List<Comment> comments = commentsLimit > 0
+                ? commentRepository.findLatestByItemIdIn(itemIds, commentsLimit)
+                : commentRepository.findByItemIdIn(itemIds);
+        Map<Long, List<CommentDto>> commentsByItem = comments.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        for (ItemDto itemDto : items) {
+            itemDto.setComments(commentsByItem.getOrDefault(itemDto.getId(), new ArrayList<>()));
         }
-        return itemDto;
+        return items;
+    }
+
+    private static Map<Long, Booking> groupByItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
     }
 }
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает DataSource в datasource-proxy, который считает выполненные запросы и их время
+ * для текущего потока. Счётчики читает и сбрасывает RequestQueryMetricsInterceptor.
+ */
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+    public static final String DATA_SOURCE_NAME = "shareit";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(DATA_SOURCE_NAME, (DataSource) bean)
+                    .countQuery()
+                    .build();
+        }
+        return bean;
+    }
+}
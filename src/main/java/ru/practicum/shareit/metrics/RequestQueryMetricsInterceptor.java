@@ -0,0 +1,80 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Записывает для каждого HTTP-запроса число запросов к БД (shareit.db.statements) и их суммарное время
+ * (shareit.db.time) с тегами method и uri - шаблоном пути обработчика, как у http.server.requests.
+ * Запрос, выполнивший больше statementsWarnThreshold запросов к БД, пишется в лог.
+ * Счётчики потока не сбрасываются, записывается их прирост за время запроса: их можно читать и вне запросов,
+ * например в тестах.
+ */
+@Slf4j
+public class RequestQueryMetricsInterceptor implements HandlerInterceptor {
+    private static final String STATEMENTS_BEFORE = RequestQueryMetricsInterceptor.class.getName() + ".statements";
+    private static final String MILLIS_BEFORE = RequestQueryMetricsInterceptor.class.getName() + ".millis";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementsWarnThreshold;
+
+    public RequestQueryMetricsInterceptor(MeterRegistry meterRegistry, int statementsWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementsWarnThreshold = statementsWarnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCount queryCount = currentQueryCount();
+        request.setAttribute(STATEMENTS_BEFORE, queryCount.getTotal());
+        request.setAttribute(MILLIS_BEFORE, queryCount.getTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object statementsBefore = request.getAttribute(STATEMENTS_BEFORE);
+        Object millisBefore = request.getAttribute(MILLIS_BEFORE);
+        if (statementsBefore == null || millisBefore == null) {
+            return;
+        }
+        QueryCount queryCount = currentQueryCount();
+        long statements = queryCount.getTotal() - (Long) statementsBefore;
+        long millis = queryCount.getTime() - (Long) millisBefore;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder("shareit.db.statements")
+                .description("Число запросов к БД на HTTP-запрос")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("shareit.db.time")
+                .description("Время выполнения запросов к БД на HTTP-запрос")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(millis, TimeUnit.MILLISECONDS);
+        if (statements > statementsWarnThreshold) {
+            log.warn("{} {} выполнил {} запросов к БД за {} мс", request.getMethod(), request.getRequestURI(),
+                    statements, millis);
+        }
+    }
+
+    private QueryCount currentQueryCount() {
+        QueryCount queryCount = QueryCountHolder.get(QueryCountingDataSourcePostProcessor.DATA_SOURCE_NAME);
+        return queryCount == null ? new QueryCount() : queryCount;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable для параметров from/size: в отличие от PageRequest смещение не обязано быть кратно размеру страницы.
+ */
+@ToString
+@EqualsAndHashCode
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        if (offset < 0) {
+            throw new IllegalStateException("Параметр from не может быть отрицательным");
+        }
+        if (size < 1) {
+            throw new IllegalStateException("Параметр size должен быть больше нуля");
+        }
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    public static Pageable of(Integer from, Integer size) {
+        if (from == null && size == null) {
+            return Pageable.unpaged();
+        }
+        return new OffsetPageRequest(from == null ? 0 : from, size == null ? Integer.MAX_VALUE : size, Sort.unsorted());
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - size, 0), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
@@ -1,17 +0,0 @@
-package ru.practicum.shareit.request;
-
-import lombok.Data;
-import ru.practicum.shareit.user.model.User;
-
-import java.time.LocalDate;
-
-/**
- * TODO Sprint add-item-requests.
- */
-@Data
-public class ItemRequest {
-    long id;
-    String description;
-    User requester;
-    LocalDate created;
-}
@@ -1,12 +1,49 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
-/**
- * TODO Sprint add-item-requests.
- */
 @RestController
 @RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
 public class ItemRequestController {
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ItemRequestDto addRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                     @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        log.info("Получен запрос на добавление запроса вещи {} пользователем с id {}", itemRequestDto, userId);
+        return itemRequestService.addRequest(itemRequestDto, userId);
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос на получение запросов вещей пользователя с id {}", userId);
+        return itemRequestService.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getOtherRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                 @RequestParam(required = false) @Positive Integer size) {
+        log.info("Получен запрос на получение запросов вещей других пользователей, id пользователя {}", userId);
+        return itemRequestService.getOtherRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getRequest(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long requestId) {
+        log.info("Получен запрос на получение запроса вещи с id {}", requestId);
+        return itemRequestService.getRequest(requestId, userId);
+    }
 }
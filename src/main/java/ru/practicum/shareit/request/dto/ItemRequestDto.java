@@ -1,7 +1,24 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequestDto {
+    private Long id;
+    @NotBlank
+    @Size(max = 512)
+    private String description;
+    private LocalDateTime created;
+    private List<ItemDto> items = new ArrayList<>();
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.request.dto;
+
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+
+public class ItemRequestMapper {
+
+    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
+        return new ItemRequestDto(
+                itemRequest.getId(),
+                itemRequest.getDescription(),
+                itemRequest.getCreated(),
+                new ArrayList<>());
+    }
+
+    public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
+        return new ItemRequest(
+                itemRequestDto.getId(),
+                itemRequestDto.getDescription(),
+                null,
+                null);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Table(name = "requests")
+public class ItemRequest {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "request_seq")
+    @SequenceGenerator(name = "request_seq", sequenceName = "request_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "description")
+    private String description;
+    @Column(name = "requester_id")
+    private Long requesterId;
+    @Column(name = "created")
+    private LocalDateTime created;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    /**
+     * Запросы пользователя, новые первыми. Обслуживается индексом requests(requester_id, created DESC).
+     */
+    List<ItemRequest> findByRequesterIdOrderByCreatedDescIdDesc(Long requesterId);
+
+    /**
+     * Запросы всех пользователей, кроме requesterId, новые первыми. Страница читается по индексу
+     * requests(created DESC), свои запросы отбрасываются по ходу чтения.
+     */
+    @Query(value = "select r from ItemRequest as r where r.requesterId <> ?1 order by r.created desc, r.id desc")
+    List<ItemRequest> findOthers(Long requesterId, Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto addRequest(ItemRequestDto itemRequestDto, long userId);
+
+    List<ItemRequestDto> getUserRequests(long userId);
+
+    List<ItemRequestDto> getOtherRequests(long userId, Integer from, Integer size);
+
+    ItemRequestDto getRequest(long requestId, long userId);
+}
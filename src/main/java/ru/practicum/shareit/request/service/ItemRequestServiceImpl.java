@@ -0,0 +1,88 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.time.CurrentTime;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final CurrentTime currentTime;
+
+    @Override
+    @Transactional
+    public ItemRequestDto addRequest(ItemRequestDto itemRequestDto, long userId) {
+        checkUserExists(userId);
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto);
+        itemRequest.setRequesterId(userId);
+        itemRequest.setCreated(currentTime.now());
+        return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
+    }
+
+    @Override
+    public List<ItemRequestDto> getUserRequests(long userId) {
+        checkUserExists(userId);
+        return withItems(itemRequestRepository.findByRequesterIdOrderByCreatedDescIdDesc(userId));
+    }
+
+    @Override
+    public List<ItemRequestDto> getOtherRequests(long userId, Integer from, Integer size) {
+        checkUserExists(userId);
+        return withItems(itemRequestRepository.findOthers(userId, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    public ItemRequestDto getRequest(long requestId, long userId) {
+        checkUserExists(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> {
+            throw new EntityNotFoundException("Запрос не найден");
+        });
+        return withItems(List.of(itemRequest)).get(0);
+    }
+
+    /**
+     * Прикладывает к запросам вещи, добавленные в ответ на них: одним запросом на все запросы списка.
+     */
+    private List<ItemRequestDto> withItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findByRequestIdInOrderById(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+                    itemRequestDto.setItems(items.getOrDefault(itemRequest.getId(), List.of()));
+                    return itemRequestDto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void checkUserExists(long userId) {
+        if (!userService.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь не найден");
+        }
+    }
+}
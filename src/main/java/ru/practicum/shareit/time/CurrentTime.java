@@ -0,0 +1,35 @@
+package ru.practicum.shareit.time;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Текущее время по часам приложения, зафиксированное на весь HTTP-запрос: валидация тела запроса,
+ * выборки по состояниям бронирований и проверки в сервисах видят один и тот же момент.
+ * Вне запроса (планировщики, тесты сервисов) каждый вызов читает часы заново.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentTime {
+    private static final String ATTRIBUTE = CurrentTime.class.getName();
+
+    private final Clock clock;
+
+    public LocalDateTime now() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return LocalDateTime.now(clock);
+        }
+        LocalDateTime now = (LocalDateTime) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (now == null) {
+            now = LocalDateTime.now(clock);
+            attributes.setAttribute(ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+        }
+        return now;
+    }
+}
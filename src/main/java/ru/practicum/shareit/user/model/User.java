@@ -1,10 +1,7 @@
 package ru.practicum.shareit.user.model;
 
 import lombok.*;
-import ru.practicum.shareit.item.model.Item;
 import javax.persistence.*;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Getter
@@ -15,13 +12,11 @@ import java.util.Set;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
     @Column(name = "name")
     private String name;
     @Column(name = "email")
     private String email;
-    @OneToMany(mappedBy = "userId")
-    private final Set<Item> userItems = new HashSet<>();
-
 }
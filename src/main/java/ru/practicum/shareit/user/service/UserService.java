@@ -1,11 +1,9 @@
 package ru.practicum.shareit.user.service;
 
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
-import java.util.Set;
 
 public interface UserService {
     UserDto addUser(UserDto userDto);
@@ -14,9 +12,9 @@ public interface UserService {
 
     UserDto getUserById(long userId);
 
-    List<UserDto> getAllUsers();
+    boolean existsById(long userId);
 
-    Set<Item> getUserItems(long userId);
+    List<UserDto> getAllUsers();
 
     void deleteUser(long userId);
 }
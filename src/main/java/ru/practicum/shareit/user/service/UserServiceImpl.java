@@ -1,9 +1,15 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.EntityAlreadyExistException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.exception.IntegrityViolations;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -11,24 +17,28 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String EMAIL_CONSTRAINT = "uq_user_email";
+
     private final UserRepository userRepository;
 
     @Transactional
     @Override
     public UserDto addUser(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
-        return UserMapper.toUserDto(userRepository.save(user));
+        // id берётся из последовательности и вставка откладывается до коммита,
+        // поэтому сбрасываем сразу: занятый email должен дать ошибку здесь же
+        return saveAndFlush(user);
     }
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto updateUser(long userId, User updatedUser) {
         User user = userRepository.findById(userId).orElseThrow(() -> {
             throw new EntityNotFoundException("Пользователь не найден");
@@ -40,10 +50,11 @@ public class UserServiceImpl implements UserService {
         if (updatedUser.getEmail() != null) {
             user.setEmail(updatedUser.getEmail());
         }
-        return UserMapper.toUserDto(userRepository.save(user));
+        return saveAndFlush(user);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto getUserById(long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> {
             throw new EntityNotFoundException("Пользователь не найден");
@@ -51,6 +62,12 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS, key = "#userId", unless = "!#result")
+    public boolean existsById(long userId) {
+        return userRepository.existsById(userId);
+    }
+
     @Override
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream().map(UserMapper::toUserDto).collect(Collectors.toList());
@@ -58,6 +75,10 @@ public class UserServiceImpl implements UserService {
 
     @Transactional
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_EXISTS, key = "#userId")
+    })
     public void deleteUser(long userId) {
         userRepository.findById(userId).orElseThrow(() -> {
             throw new EntityNotFoundException("Пользователь не найден");
@@ -65,12 +86,14 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(userId);
     }
 
-    public Set<Item> getUserItems(long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
-            throw new EntityNotFoundException("Пользователь не найден");
-        });
-        return user.getUserItems();
+    private UserDto saveAndFlush(User user) {
+        try {
+            return UserMapper.toUserDto(userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            if (IntegrityViolations.violates(e, EMAIL_CONSTRAINT)) {
+                throw new EntityAlreadyExistException("Пользователь с таким email уже существует");
+            }
+            throw e;
+        }
     }
-
-
 }
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.validation;
 
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.time.CurrentTime;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.time.LocalDateTime;
 
+@RequiredArgsConstructor
 public class EndNotInPastValidator implements ConstraintValidator<EndNotInPast, LocalDateTime> {
-    private final LocalDateTime now = LocalDateTime.now();
+    private final CurrentTime currentTime;
 
     @Override
     public void initialize(EndNotInPast endNotInPast) {
@@ -13,6 +17,6 @@ public class EndNotInPastValidator implements ConstraintValidator<EndNotInPast,
 
     @Override
     public boolean isValid(LocalDateTime endTime, ConstraintValidatorContext context) {
-        return endTime.isAfter(now);
+        return endTime.isAfter(currentTime.now());
     }
 }
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.validation;
 
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.time.CurrentTime;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.time.LocalDateTime;
 
+@RequiredArgsConstructor
 public class StartNotInPastValidator implements ConstraintValidator<StartNotInPast, LocalDateTime> {
-    private final LocalDateTime now = LocalDateTime.now();
+    private final CurrentTime currentTime;
 
     @Override
     public void initialize(StartNotInPast constraintAnnotation) {
@@ -13,6 +17,6 @@ public class StartNotInPastValidator implements ConstraintValidator<StartNotInPa
 
     @Override
     public boolean isValid(LocalDateTime startTime, ConstraintValidatorContext context) {
-        return startTime.isAfter(now);
+        return startTime.isAfter(currentTime.now());
     }
 }
@@ -37,4 +37,4 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_author_id FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT fk_item_id_to_comments FOREIGN KEY (item_id) REFERENCES items (id)
-);
\ No newline at end of file
+);
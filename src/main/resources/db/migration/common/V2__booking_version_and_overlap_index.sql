@@ -0,0 +1,3 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_end ON bookings (item_id, start_time, end_time);
@@ -0,0 +1,11 @@
+-- списки бронирований автора, отсортированные по началу
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC);
+
+-- проверка пересечения с подтверждёнными бронированиями и бронирования вещи по статусу
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_time);
+
+-- вещи владельца
+CREATE INDEX IF NOT EXISTS idx_items_user ON items (user_id);
+
+-- комментарии к вещам, последние первыми
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
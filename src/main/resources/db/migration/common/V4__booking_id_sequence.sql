@@ -0,0 +1,3 @@
+-- id бронирований выдаёт последовательность с шагом 50: Hibernate резервирует сразу 50 значений
+-- и может объединять вставки в пакеты JDBC, чего не позволяет IDENTITY
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
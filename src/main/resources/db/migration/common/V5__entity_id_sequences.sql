@@ -0,0 +1,5 @@
+-- как и для бронирований, id пользователей, вещей и комментариев выдаются последовательностями
+-- с шагом 50, чтобы вставки объединялись в пакеты JDBC
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comment_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,20 @@
+CREATE SEQUENCE IF NOT EXISTS request_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS requests (
+    id BIGINT NOT NULL,
+    description VARCHAR(512) NOT NULL,
+    requester_id BIGINT NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_request PRIMARY KEY (id),
+    CONSTRAINT fk_requester_id FOREIGN KEY (requester_id) REFERENCES users (id)
+);
+
+-- свои запросы пользователя, новые первыми
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created DESC);
+-- запросы других пользователей страницами from/size, новые первыми
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT fk_request_id FOREIGN KEY (request_id) REFERENCES requests (id);
+-- ответы на страницу запросов одним запросом по request_id in (...)
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
@@ -0,0 +1,6 @@
+-- id всех таблиц выдают последовательности Hibernate (V4, V5): IDENTITY-счётчики больше не нужны,
+-- а вставка без id взяла бы значение из своего счётчика и могла пересечься с блоком последовательности
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
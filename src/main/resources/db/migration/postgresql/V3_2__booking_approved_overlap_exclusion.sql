@@ -0,0 +1,26 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- до появления проверки пересечений одна вещь могла быть подтверждена нескольким арендаторам на одно время,
+-- и на таких данных ограничение не создастся. Какое из подтверждённых бронирований отменить, решает
+-- не миграция: она останавливается и перечисляет пересекающиеся пары, лишние бронирования отклоняются
+-- вручную (с уведомлением арендаторов), после чего миграция запускается снова.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(earlier.id || ' и ' || later.id || ' (вещь ' || later.item_id || ')', ', '
+                      ORDER BY earlier.id, later.id)
+    INTO conflicts
+    FROM bookings AS earlier
+    JOIN bookings AS later ON later.item_id = earlier.item_id AND later.id > earlier.id
+    WHERE earlier.status = 'APPROVED'
+      AND later.status = 'APPROVED'
+      AND tsrange(earlier.start_time, earlier.end_time) && tsrange(later.start_time, later.end_time);
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Пересекаются подтверждённые бронирования: %', conflicts
+            USING HINT = 'Отклоните лишние бронирования вручную и повторите миграцию';
+    END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT excl_bookings_approved_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&) WHERE (status = 'APPROVED');
@@ -0,0 +1,2 @@
+-- в существующей базе последовательность должна начинаться после уже выданных IDENTITY значений
+SELECT setval('booking_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings), false);
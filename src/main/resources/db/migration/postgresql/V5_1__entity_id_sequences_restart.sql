@@ -0,0 +1,4 @@
+-- в существующей базе последовательности должны начинаться после уже выданных IDENTITY значений
+SELECT setval('user_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+SELECT setval('item_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM items), false);
+SELECT setval('comment_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM comments), false);
@@ -0,0 +1,224 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет для каждого эндпоинта, что число запросов к БД не зависит от объёма данных:
+ * один и тот же HTTP-запрос выполняется для владельца с одной вещью и с LARGE вещами
+ * (у каждой прошлое и будущее бронирование, комментарий и ответ на запрос) и должен выполнить
+ * одинаковое число запросов, не больше указанного. Каждый запрос сначала выполняется вхолостую,
+ * чтобы кэши пользователей и вещей были в одинаковом состоянии.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+    private static final int LARGE = 500;
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private int sequence;
+
+    @Test
+    void statementCountDoesNotDependOnDataSize() throws Exception {
+        Dataset small = createDataset("small", 1);
+        Dataset large = createDataset("large", LARGE);
+
+        Map<String, Long> limits = new LinkedHashMap<>();
+        Map<String, Function<Dataset, MockHttpServletRequestBuilder>> endpoints = new LinkedHashMap<>();
+
+        add(endpoints, limits, "POST /users", 1, data -> json(post("/users"),
+                "{\"name\": \"user\", \"email\": \"" + nextEmail() + "\"}"));
+        add(endpoints, limits, "PATCH /users/{id}", 1, data -> json(patch("/users/{id}", data.owner),
+                "{\"name\": \"owner\"}"));
+        add(endpoints, limits, "GET /users/{id}", 0, data -> get("/users/{id}", data.owner));
+        add(endpoints, limits, "GET /users", 1, data -> get("/users"));
+        add(endpoints, limits, "DELETE /users/{id}", 2, data -> delete("/users/{id}",
+                userRepository.save(new User(null, "user", nextEmail())).getId()));
+
+        add(endpoints, limits, "POST /items", 1, data -> json(post("/items").header(USER_HEADER, data.owner),
+                "{\"name\": \"item\", \"description\": \"description\", \"available\": true}"));
+        add(endpoints, limits, "PATCH /items/{id}", 1, data -> json(patch("/items/{id}", data.item)
+                .header(USER_HEADER, data.owner), "{\"description\": \"updated\"}"));
+        add(endpoints, limits, "GET /items/{id}", 3, data -> get("/items/{id}", data.item)
+                .header(USER_HEADER, data.owner));
+        add(endpoints, limits, "GET /items", 4, data -> get("/items").header(USER_HEADER, data.owner));
+        add(endpoints, limits, "GET /items/search", 1, data -> get("/items/search")
+                .param("text", data.name));
+        add(endpoints, limits, "POST /items/{id}/comment", 2, data -> json(post("/items/{id}/comment", data.item)
+                .header(USER_HEADER, data.booker), "{\"text\": \"comment\"}"));
+        add(endpoints, limits, "POST /items/import", 1, data -> json(post("/items/import")
+                .header(USER_HEADER, data.owner), "[{\"name\": \"item\", \"description\": \"d\", \"available\": true},"
+                + "{\"name\": \"item\", \"description\": \"d\", \"available\": true}]"));
+
+        add(endpoints, limits, "POST /bookings", 2, data -> json(post("/bookings").header(USER_HEADER, data.booker),
+                bookingJson(data.item, now.plusYears(1).plusDays(sequence++))));
+        add(endpoints, limits, "POST /bookings/batch", 3, data -> json(post("/bookings/batch")
+                .header(USER_HEADER, data.booker), "[" + bookingJson(data.item, now.plusYears(2).plusDays(sequence++))
+                + "," + bookingJson(data.item, now.plusYears(2).plusDays(sequence++)) + "]"));
+        add(endpoints, limits, "PATCH /bookings/{id}", 4, data -> patch("/bookings/{id}",
+                bookingRepository.save(new Booking(null, BookingStatus.WAITING, user(data.booker), item(data.item),
+                        now.plusYears(3).plusDays(sequence), now.plusYears(3).plusDays(++sequence), null)).getId())
+                .header(USER_HEADER, data.owner).param("approved", "true"));
+        add(endpoints, limits, "GET /bookings/{id}", 1, data -> get("/bookings/{id}", data.booking)
+                .header(USER_HEADER, data.booker));
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            add(endpoints, limits, "GET /bookings?state=" + state, 1, data -> get("/bookings")
+                    .header(USER_HEADER, data.booker).param("state", state));
+            add(endpoints, limits, "GET /bookings/owner?state=" + state, 1, data -> get("/bookings/owner")
+                    .header(USER_HEADER, data.owner).param("state", state));
+        }
+        add(endpoints, limits, "GET /bookings/export", 1, data -> get("/bookings/export")
+                .header(USER_HEADER, data.booker));
+        add(endpoints, limits, "GET /bookings/owner/export", 1, data -> get("/bookings/owner/export")
+                .header(USER_HEADER, data.owner));
+
+        add(endpoints, limits, "POST /requests", 1, data -> json(post("/requests").header(USER_HEADER, data.booker),
+                "{\"description\": \"нужна дрель\"}"));
+        add(endpoints, limits, "GET /requests", 2, data -> get("/requests").header(USER_HEADER, data.booker));
+        add(endpoints, limits, "GET /requests/all", 2, data -> get("/requests/all")
+                .header(USER_HEADER, data.owner).param("from", "0").param("size", "20"));
+        add(endpoints, limits, "GET /requests/{id}", 2, data -> get("/requests/{id}", data.request)
+                .header(USER_HEADER, data.owner));
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Function<Dataset, MockHttpServletRequestBuilder>> endpoint : endpoints.entrySet()) {
+            long smallCount = measure(endpoint.getValue(), small);
+            long largeCount = measure(endpoint.getValue(), large);
+            long limit = limits.get(endpoint.getKey());
+            log.info("{}: запросов к БД {} при 1 вещи, {} при {} вещах, предел {}", endpoint.getKey(),
+                    smallCount, largeCount, LARGE, limit);
+            if (smallCount != largeCount || largeCount > limit) {
+                failures.add(endpoint.getKey() + ": " + smallCount + " / " + largeCount + ", предел " + limit);
+            }
+        }
+        assertEquals(List.of(), failures);
+    }
+
+    private void add(Map<String, Function<Dataset, MockHttpServletRequestBuilder>> endpoints, Map<String, Long> limits,
+                     String name, long limit, Function<Dataset, MockHttpServletRequestBuilder> request) {
+        endpoints.put(name, request);
+        limits.put(name, limit);
+    }
+
+    private long measure(Function<Dataset, MockHttpServletRequestBuilder> request, Dataset data) throws Exception {
+        mockMvc.perform(request.apply(data)).andExpect(status().is2xxSuccessful());
+        MockHttpServletRequestBuilder measured = request.apply(data);
+        return QueryCounter.count(() -> mockMvc.perform(measured).andExpect(status().is2xxSuccessful()));
+    }
+
+    /**
+     * Владелец с itemCount вещами: у каждой прошлое и будущее подтверждённые бронирования одного арендатора,
+     * его комментарий, и каждая вещь - ответ на запрос арендатора.
+     */
+    private Dataset createDataset(String name, int itemCount) {
+        User owner = userRepository.save(new User(null, name, "query-count-owner-" + name + "@mail.ru"));
+        User booker = userRepository.save(new User(null, name, "query-count-booker-" + name + "@mail.ru"));
+        ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "нужны вещи", booker.getId(), now));
+        String itemName = "querycount" + name;
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(null, itemName + i, "description", true, owner.getId(), request.getId()));
+        }
+        itemRepository.saveAll(items);
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            bookings.add(new Booking(null, BookingStatus.APPROVED, booker, item,
+                    now.minusDays(2), now.minusDays(1), null));
+            bookings.add(new Booking(null, BookingStatus.APPROVED, booker, item,
+                    now.plusDays(1), now.plusDays(2), null));
+            comments.add(new Comment(null, "comment", item, booker, now.minusHours(1)));
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+        return new Dataset(owner.getId(), booker.getId(), items.get(0).getId(), bookings.get(0).getId(),
+                request.getId(), itemName);
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private String bookingJson(long itemId, LocalDateTime start) throws RuntimeException {
+        try {
+            return objectMapper.writeValueAsString(new BookingDto(null, null, null, itemId, start,
+                    start.plusHours(1), null));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private User user(long id) {
+        return userRepository.findById(id).orElseThrow();
+    }
+
+    private Item item(long id) {
+        return itemRepository.findById(id).orElseThrow();
+    }
+
+    private String nextEmail() {
+        return "query-count-" + sequence++ + "@mail.ru";
+    }
+
+    @AllArgsConstructor
+    private static class Dataset {
+        private final long owner;
+        private final long booker;
+        private final long item;
+        private final long booking;
+        private final long request;
+        private final String name;
+    }
+}
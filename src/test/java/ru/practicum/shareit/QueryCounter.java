@@ -0,0 +1,28 @@
+package ru.practicum.shareit;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import ru.practicum.shareit.metrics.QueryCountingDataSourcePostProcessor;
+
+/**
+ * Считает запросы к БД, выполненные текущим потоком, по счётчикам datasource-proxy,
+ * которым приложение обёрнуто в QueryCountingDataSourcePostProcessor. Вызовы сервисов и MockMvc
+ * выполняются в потоке теста, поэтому учитываются все их запросы, включая сделанные при коммите.
+ */
+public final class QueryCounter {
+
+    private QueryCounter() {
+    }
+
+    public static long count(Action action) throws Exception {
+        QueryCountHolder.clear();
+        action.run();
+        QueryCount queryCount = QueryCountHolder.get(QueryCountingDataSourcePostProcessor.DATA_SOURCE_NAME);
+        return queryCount == null ? 0 : queryCount.getTotal();
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
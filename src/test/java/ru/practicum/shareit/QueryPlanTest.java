@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingQuery;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Выполняет запросы репозиториев, перехватывает сгенерированный Hibernate SQL и проверяет
+ * через EXPLAIN, что ни одна таблица не читается полным просмотром.
+ * Поиск вещей по подстроке не проверяется: на PostgreSQL его обслуживают триграммные индексы,
+ * которых нет в H2.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$RecordingInspector")
+class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        BookingCursor after = new BookingCursor(now, 1L);
+        for (BookingQuery.Role role : BookingQuery.Role.values()) {
+            for (BookingState state : BookingState.values()) {
+                BookingQuery query = BookingQuery.builder().role(role).userId(1L).state(state).now(now).build();
+                BookingQuery next = BookingQuery.builder().role(role).userId(1L).state(state).now(now).after(after).build();
+                queries.put("findBookings " + query, () -> bookingRepository.findBookings(query, page));
+                queries.put("findBookings " + next, () -> bookingRepository.findBookings(next, page));
+                queries.put("countBookings " + query, () -> bookingRepository.countBookings(query));
+            }
+        }
+        queries.put("findLastBookingsForItems", () -> bookingRepository.findLastBookingsForItems(List.of(1L, 2L), now));
+        queries.put("findNextBookingsForItems", () -> bookingRepository.findNextBookingsForItems(List.of(1L, 2L), now));
+        queries.put("existsOverlapping",
+                () -> bookingRepository.existsOverlapping(1L, BookingStatus.APPROVED, now, now, 0L));
+        queries.put("findOverlapping",
+                () -> bookingRepository.findOverlapping(List.of(1L, 2L), BookingStatus.APPROVED, now, now));
+        queries.put("countFinishedBookings",
+                () -> bookingRepository.countFinishedBookings(1L, 1L, BookingStatus.REJECTED, now));
+        queries.put("findByUserIdOrderById", () -> itemRepository.findByUserIdOrderById(1L));
+        queries.put("findByRequestIdInOrderById", () -> itemRepository.findByRequestIdInOrderById(List.of(1L, 2L)));
+        queries.put("findByRequesterIdOrderByCreatedDescIdDesc",
+                () -> itemRequestRepository.findByRequesterIdOrderByCreatedDescIdDesc(1L));
+        queries.put("findOthers", () -> itemRequestRepository.findOthers(1L, page));
+        queries.put("findByItemIdIn", () -> commentRepository.findByItemIdIn(List.of(1L, 2L)));
+        queries.put("findLatestByItemIdIn", () -> commentRepository.findLatestByItemIdIn(List.of(1L, 2L), 3));
+
+        queries.forEach((name, query) -> {
+            RecordingInspector.STATEMENTS.clear();
+            query.run();
+            assertFalse(RecordingInspector.STATEMENTS.isEmpty(), name);
+            for (String sql : RecordingInspector.STATEMENTS) {
+                String plan = explain(sql);
+                assertFalse(plan.contains(TABLE_SCAN), name + ":\n" + plan);
+            }
+        });
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] arguments = Collections.nCopies(parameters, "1").toArray();
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, arguments);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
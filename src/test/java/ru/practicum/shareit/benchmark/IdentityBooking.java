@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование с прежней генерацией id через IDENTITY, для сравнения в InsertThroughputBenchmarkTest.
+ * Отображено так же, как Booking, отличается только генерацией id и таблицей.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "identity_bookings")
+public class IdentityBooking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "status")
+    private String status;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id")
+    private IdentityUser booker;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private IdentityItem item;
+    @Column(name = "start_time")
+    private LocalDateTime start;
+    @Column(name = "end_time")
+    private LocalDateTime end;
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
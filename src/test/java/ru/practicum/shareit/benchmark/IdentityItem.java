@@ -0,0 +1,29 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+/**
+ * Вещь с прежней генерацией id через IDENTITY, для сравнения в InsertThroughputBenchmarkTest.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "identity_items")
+public class IdentityItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "description")
+    private String description;
+    @Column(name = "available")
+    private Boolean available;
+    @Column(name = "user_id")
+    private Long userId;
+}
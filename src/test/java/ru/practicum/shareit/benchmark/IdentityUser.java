@@ -0,0 +1,25 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+/**
+ * Пользователь с прежней генерацией id через IDENTITY, для сравнения в InsertThroughputBenchmarkTest.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "identity_users")
+public class IdentityUser {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "email")
+    private String email;
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Вставляет пачки пользователей, вещей и бронирований с id из последовательностей (pooled-lo)
+ * и с IDENTITY-столбцами через сущности Identity*. В схеме приложения IDENTITY больше нет (V7),
+ * поэтому для них создаются таблицы identity_* с теми же столбцами, ограничениями и индексами,
+ * что у таблиц приложения, после каждого теста они удаляются.
+ * Проверяется число подготовленных запросов: IDENTITY требует отдельного INSERT на каждую строку,
+ * последовательность позволяет вставлять пакетами. Замер времени, где варианты измеряются
+ * поочерёдно и в лог идёт лучший из раундов каждого, запускается только в профиле perf: mvn test -P perf.
+ */
+@Slf4j
+@SpringBootTest
+class InsertThroughputBenchmarkTest {
+    private static final int ROWS = 100;
+    private static final int BENCHMARK_ROWS = 1000;
+    private static final int ROUNDS = 3;
+    private static final String NAME = "insert-benchmark";
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> bestTimes = new LinkedHashMap<>();
+    private Statistics statistics;
+    private int emails;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("create table if not exists identity_users ("
+                + "id bigint generated by default as identity primary key, "
+                + "name varchar(255) not null, email varchar(512) not null unique)");
+        jdbcTemplate.execute("create table if not exists identity_items ("
+                + "id bigint generated by default as identity primary key, "
+                + "name varchar(255) not null, description varchar(255) not null, available boolean, "
+                + "user_id bigint references identity_users (id))");
+        jdbcTemplate.execute("create table if not exists identity_bookings ("
+                + "id bigint generated by default as identity primary key, status varchar(255) not null, "
+                + "booker_id bigint not null references identity_users (id), "
+                + "item_id bigint not null references identity_items (id), "
+                + "start_time timestamp, end_time timestamp, version bigint default 0 not null)");
+        jdbcTemplate.execute("create index if not exists idx_identity_items_user on identity_items (user_id)");
+        jdbcTemplate.execute("create index if not exists idx_identity_bookings_item_start_end "
+                + "on identity_bookings (item_id, start_time, end_time)");
+        jdbcTemplate.execute("create index if not exists idx_identity_bookings_booker_start "
+                + "on identity_bookings (booker_id, start_time desc)");
+        jdbcTemplate.execute("create index if not exists idx_identity_bookings_item_status_start "
+                + "on identity_bookings (item_id, status, start_time)");
+    }
+
+    @Test
+    void sequenceIdsInsertInBatches() {
+        insertAll(ROWS);
+    }
+
+    @Tag("perf")
+    @Test
+    void compareInsertThroughput() {
+        for (int round = 0; round < ROUNDS; round++) {
+            insertAll(BENCHMARK_ROWS);
+        }
+        bestTimes.forEach((variant, nanos) -> log.info("{}: {} строк за {} мс, {} строк/с", variant, BENCHMARK_ROWS,
+                nanos / 1_000_000, Math.round(BENCHMARK_ROWS / (nanos / 1_000_000_000.0))));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("drop table if exists identity_bookings");
+        jdbcTemplate.execute("drop table if exists identity_items");
+        jdbcTemplate.execute("drop table if exists identity_users");
+        jdbcTemplate.update("delete from bookings where item_id in (select id from items where name = ?)", NAME);
+        jdbcTemplate.update("delete from items where name = ?", NAME);
+        jdbcTemplate.update("delete from users where name = ?", NAME);
+    }
+
+    /**
+     * Вставляет по rows пользователей, вещей и бронирований в обоих вариантах.
+     */
+    private void insertAll(int rows) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Long> identityUsers = insert("IDENTITY", "пользователи", rows, i -> {
+            IdentityUser user = new IdentityUser();
+            user.setName(NAME);
+            user.setEmail(nextEmail());
+            return persist(user, user::getId);
+        });
+        List<Long> identityItems = insert("IDENTITY", "вещи", rows, i -> {
+            IdentityItem item = new IdentityItem();
+            item.setName(NAME);
+            item.setDescription("description");
+            item.setAvailable(true);
+            item.setUserId(identityUsers.get(i));
+            return persist(item, item::getId);
+        });
+        insert("IDENTITY", "бронирования", rows, i -> {
+            IdentityBooking booking = new IdentityBooking();
+            booking.setStatus(BookingStatus.WAITING.name());
+            booking.setBooker(entityManager.getReference(IdentityUser.class, identityUsers.get(i)));
+            booking.setItem(entityManager.getReference(IdentityItem.class, identityItems.get(i)));
+            booking.setStart(start);
+            booking.setEnd(start.plusDays(1));
+            return persist(booking, booking::getId);
+        });
+
+        List<Long> users = insert("последовательность", "пользователи", rows, i -> {
+            User user = new User(null, NAME, nextEmail());
+            return persist(user, user::getId);
+        });
+        List<Long> items = insert("последовательность", "вещи", rows, i -> {
+            Item item = new Item(null, NAME, "description", true, users.get(i), null);
+            return persist(item, item::getId);
+        });
+        insert("последовательность", "бронирования", rows, i -> {
+            Booking booking = new Booking(null, BookingStatus.WAITING,
+                    entityManager.getReference(User.class, users.get(i)),
+                    entityManager.getReference(Item.class, items.get(i)), start, start.plusDays(1), null);
+            return persist(booking, booking::getId);
+        });
+    }
+
+    /**
+     * Вставляет rows строк одной транзакцией и возвращает их id. Время попадает в bestTimes,
+     * число подготовленных запросов сверяется с ожидаемым для варианта.
+     */
+    private List<Long> insert(String variant, String entity, int rows, IntFunction<Long> persistOne) {
+        List<Long> ids = new ArrayList<>(rows);
+        statistics.clear();
+        long started = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                ids.add(persistOne.apply(i));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        bestTimes.merge(variant + ", " + entity, System.nanoTime() - started, Math::min);
+
+        long statements = statistics.getPrepareStatementCount();
+        if (variant.equals("IDENTITY")) {
+            assertTrue(statements >= rows, variant + ", " + entity + ": запросов " + statements);
+        } else {
+            // блок id из последовательности и пакет вставок на каждые 50 строк
+            assertTrue(statements <= 2 * rows / 50 + 2, variant + ", " + entity + ": запросов " + statements);
+        }
+        return ids;
+    }
+
+    private Long persist(Object entity, Supplier<Long> id) {
+        entityManager.persist(entity);
+        return id.get();
+    }
+
+    private String nextEmail() {
+        return NAME + emails++ + "@mail.ru";
+    }
+}
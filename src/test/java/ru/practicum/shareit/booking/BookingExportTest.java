@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void exportWritesOneJsonLinePerBooking() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "export-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "export-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, bookingRepository.save(new Booking(null, BookingStatus.WAITING, booker, item,
+                    start.plusDays(i), start.plusDays(i).plusHours(1), null)).getId());
+        }
+
+        assertEquals(expected, exportedIds("/bookings/export", booker.getId()));
+        assertEquals(expected, exportedIds("/bookings/owner/export", owner.getId()));
+    }
+
+    @Test
+    void exportOfUnknownUserIsNotFound() throws Exception {
+        mockMvc.perform(get("/bookings/export").header("X-Sharer-User-Id", -1))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<Long> exportedIds(String path, long userId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BookingController.NDJSON))
+                .andReturn();
+        List<Long> ids = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Замер выборки через BookingQuery против запросов по одному на состояние из PerStateBookingRepository,
+ * время пишется в лог. Оба варианта вызываются через прокси репозиториев, прогреваются и измеряются
+ * поочерёдно, в лог идёт лучший из раундов каждого. Совпадение результатов проверяет
+ * BookingQueryEquivalenceTest, сам замер запускается только в профиле perf: mvn test -P perf.
+ */
+@Slf4j
+@Tag("perf")
+@SpringBootTest
+@Transactional
+class BookingQueryBenchmarkTest {
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 100;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private PerStateBookingRepository perStateBookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void compareQueryEngineWithPerStateQueries() {
+        BookingQueryFixture fixture = BookingQueryFixture.create(userRepository, itemRepository, bookingRepository,
+                entityManager);
+        Pageable page = PageRequest.of(0, 20);
+
+        for (BookingQuery.Role role : BookingQuery.Role.values()) {
+            for (BookingState state : BookingState.values()) {
+                BookingQuery query = fixture.query(role, state);
+                Supplier<List<BookingReturnDto>> engine = () -> bookingRepository.findBookings(query, page);
+                Supplier<List<BookingReturnDto>> perState =
+                        () -> fixture.perStateQuery(perStateBookingRepository, role, state, page);
+                long[] perStateTimes = new long[ROUNDS];
+                long[] engineTimes = new long[ROUNDS];
+                warmUp(perState);
+                warmUp(engine);
+                for (int round = 0; round < ROUNDS; round++) {
+                    perStateTimes[round] = measure(perState);
+                    engineTimes[round] = measure(engine);
+                }
+                log.info("{} {}: по состояниям {} мкс, BookingQuery {} мкс", role, state,
+                        Arrays.stream(perStateTimes).min().orElseThrow(), Arrays.stream(engineTimes).min().orElseThrow());
+            }
+        }
+    }
+
+    private void warmUp(Supplier<List<BookingReturnDto>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+    }
+
+    /**
+     * Среднее время одного запроса в микросекундах.
+     */
+    private long measure(Supplier<List<BookingReturnDto>> query) {
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - started) / ITERATIONS / 1000;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Выборка через BookingQuery для каждой роли и состояния совпадает с запросом по состоянию
+ * из PerStateBookingRepository, а countBookings - с размером его полной выборки.
+ */
+@SpringBootTest
+@Transactional
+class BookingQueryEquivalenceTest {
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private PerStateBookingRepository perStateBookingRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void queryEngineMatchesPerStateQueries() {
+        BookingQueryFixture fixture = BookingQueryFixture.create(userRepository, itemRepository, bookingRepository,
+                entityManager);
+        Pageable page = PageRequest.of(0, 20);
+
+        for (BookingQuery.Role role : BookingQuery.Role.values()) {
+            for (BookingState state : BookingState.values()) {
+                BookingQuery query = fixture.query(role, state);
+                assertEquals(ids(fixture.perStateQuery(perStateBookingRepository, role, state, page)),
+                        ids(bookingRepository.findBookings(query, page)), role + " " + state);
+                assertEquals(fixture.perStateQuery(perStateBookingRepository, role, state, Pageable.unpaged()).size(),
+                        bookingRepository.countBookings(query), role + " " + state);
+            }
+        }
+    }
+
+    private List<Long> ids(List<BookingReturnDto> bookings) {
+        return bookings.stream().map(BookingReturnDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Общие данные для сравнения BookingQuery с запросами по одному на состояние из PerStateBookingRepository,
+ * которыми списки бронирований строились раньше: 50 вещей одного владельца по 20 бронирований
+ * одного арендатора в прошлом, настоящем и будущем во всех статусах.
+ */
+final class BookingQueryFixture {
+    private static final BookingStatus[] STATUSES = {BookingStatus.WAITING, BookingStatus.APPROVED,
+            BookingStatus.REJECTED};
+
+    private final User owner;
+    private final User booker;
+    private final LocalDateTime now;
+
+    private BookingQueryFixture(User owner, User booker, LocalDateTime now) {
+        this.owner = owner;
+        this.booker = booker;
+        this.now = now;
+    }
+
+    static BookingQueryFixture create(UserRepository userRepository, ItemRepository itemRepository,
+                                      BookingRepository bookingRepository, EntityManager entityManager) {
+        User owner = userRepository.save(new User(null, "owner", "booking-query-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "booking-query-booker@mail.ru"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 50; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description", true, owner.getId(), null));
+            for (int j = 0; j < 20; j++) {
+                LocalDateTime start = now.plusDays(j - 10).plusMinutes(i);
+                bookingRepository.save(new Booking(null, STATUSES[j % STATUSES.length], booker, item,
+                        start, start.plusDays(1).plusHours(1), null));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new BookingQueryFixture(owner, booker, now);
+    }
+
+    long userId(BookingQuery.Role role) {
+        return role == BookingQuery.Role.OWNER ? owner.getId() : booker.getId();
+    }
+
+    LocalDateTime now() {
+        return now;
+    }
+
+    BookingQuery query(BookingQuery.Role role, BookingState state) {
+        return BookingQuery.builder().role(role).userId(userId(role)).state(state).now(now).build();
+    }
+
+    List<BookingReturnDto> perStateQuery(PerStateBookingRepository repository, BookingQuery.Role role,
+                                         BookingState state, Pageable page) {
+        long userId = userId(role);
+        boolean owner = role == BookingQuery.Role.OWNER;
+        switch (state) {
+            case FUTURE:
+                return owner
+                        ? repository.findFutureBookingsByOwner(userId, now, page)
+                        : repository.findFutureBookingsByBooker(userId, now, page);
+            case CURRENT:
+                return owner
+                        ? repository.findCurrentBookingForOwner(userId, now, page)
+                        : repository.findCurrentBookingForUser(userId, now, page);
+            case PAST:
+                return owner
+                        ? repository.findPastBookingForOwner(userId, now, page)
+                        : repository.findPastBookingForUser(userId, now, page);
+            case WAITING:
+            case REJECTED:
+                BookingStatus status = BookingStatus.valueOf(state.name());
+                return owner
+                        ? repository.findBookingsByOwnerAndStatus(userId, status, page)
+                        : repository.findBookingsByBookerAndStatus(userId, status, page);
+            default:
+                return owner
+                        ? repository.findBookingsByOwner(userId, page)
+                        : repository.findBookingsByBooker(userId, page);
+        }
+    }
+}
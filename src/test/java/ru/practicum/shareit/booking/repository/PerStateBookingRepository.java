@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Запросы по одному на состояние, которыми списки бронирований строились до BookingQuery.
+ * Нужны только для сравнения в BookingQueryBenchmarkTest.
+ */
+public interface PerStateBookingRepository extends Repository<Booking, Long> {
+    String VIEW = "select new ru.practicum.shareit.booking.dto.BookingReturnDto(b.id, b.status, " +
+            "u.id, u.name, u.email, i.id, i.name, i.description, i.available, b.start, b.end) " +
+            "from Booking as b join b.item as i join b.booker as u ";
+    String BOOKER_BOOKINGS = VIEW + "where u.id = ?1 ";
+    String OWNER_BOOKINGS = VIEW + "where i.userId = ?1 ";
+    String ORDER = "order by b.start desc, b.id desc";
+
+    @Query(value = BOOKER_BOOKINGS + ORDER)
+    List<BookingReturnDto> findBookingsByBooker(Long bookerId, Pageable pageable);
+
+    @Query(value = BOOKER_BOOKINGS + "and b.start > ?2 " + ORDER)
+    List<BookingReturnDto> findFutureBookingsByBooker(Long bookerId, LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = BOOKER_BOOKINGS + "and b.status = ?2 " + ORDER)
+    List<BookingReturnDto> findBookingsByBookerAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+
+    @Query(value = BOOKER_BOOKINGS + "and b.start < ?2 and b.end > ?2 " + ORDER)
+    List<BookingReturnDto> findCurrentBookingForUser(Long userId, LocalDateTime time, Pageable pageable);
+
+    @Query(value = BOOKER_BOOKINGS + "and b.end < ?2 " + ORDER)
+    List<BookingReturnDto> findPastBookingForUser(Long userId, LocalDateTime time, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + ORDER)
+    List<BookingReturnDto> findBookingsByOwner(Long ownerId, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + "and b.start > ?2 " + ORDER)
+    List<BookingReturnDto> findFutureBookingsByOwner(Long ownerId, LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + "and b.status = ?2 " + ORDER)
+    List<BookingReturnDto> findBookingsByOwnerAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + "and b.start < ?2 and b.end > ?2 " + ORDER)
+    List<BookingReturnDto> findCurrentBookingForOwner(Long ownerId, LocalDateTime time, Pageable pageable);
+
+    @Query(value = OWNER_BOOKINGS + "and b.end < ?2 " + ORDER)
+    List<BookingReturnDto> findPastBookingForOwner(Long ownerId, LocalDateTime time, Pageable pageable);
+}
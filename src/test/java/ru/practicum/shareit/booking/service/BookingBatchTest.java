@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingBatchTest {
+    private static final int BOOKINGS = 100;
+    private static final int ITEMS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void batchIsValidatedAndInsertedWithConstantNumberOfStatements() {
+        User owner = userRepository.save(new User(null, "owner", "batch-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "batch-booker@mail.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(itemRepository.save(new Item(null, "item" + i, "description", true, owner.getId(), null)));
+        }
+        List<BookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime day = start.plusDays(i / ITEMS);
+            bookings.add(new BookingDto(null, null, booker.getId(), items.get(i % ITEMS).getId(),
+                    day, day.plusHours(12), null));
+        }
+
+        statistics.clear();
+        List<BookingBatchResultDto> results = bookingService.addBookings(bookings, booker.getId());
+
+        assertEquals(BOOKINGS, results.size());
+        for (int i = 0; i < BOOKINGS; i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertNull(results.get(i).getError());
+            assertEquals(BookingStatus.WAITING, results.get(i).getBooking().getStatus());
+            assertEquals(bookings.get(i).getItemId(), results.get(i).getBooking().getItem().getId());
+        }
+        assertEquals(BOOKINGS, statistics.getEntityInsertCount());
+        // пользователь, вещи, пересечения, два блока id из последовательности и две пачки вставок
+        assertTrue(statistics.getPrepareStatementCount() <= 7,
+                "Запросов к БД: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void invalidEntriesAreReportedWithoutFailingTheBatch() {
+        User owner = userRepository.save(new User(null, "owner", "batch-errors-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "batch-errors-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        Item unavailable = itemRepository.save(new Item(null, "item", "description", false, owner.getId(), null));
+        Item own = itemRepository.save(new Item(null, "item", "description", true, booker.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking(null, BookingStatus.APPROVED, owner, item,
+                start.plusDays(10), start.plusDays(12), null));
+
+        List<BookingBatchResultDto> results = bookingService.addBookings(Arrays.asList(
+                new BookingDto(null, null, null, item.getId(), start, start.plusDays(1), null),
+                new BookingDto(null, null, null, item.getId(), start.plusDays(11), start.plusDays(13), null),
+                new BookingDto(null, null, null, unavailable.getId(), start, start.plusDays(1), null),
+                new BookingDto(null, null, null, own.getId(), start, start.plusDays(1), null),
+                new BookingDto(null, null, null, -1L, start, start.plusDays(1), null),
+                new BookingDto(null, null, null, item.getId(), start.plusDays(1), start, null),
+                new BookingDto(null, null, null, item.getId(), start.minusDays(2), start, null),
+                new BookingDto(null, null, null, item.getId(), null, start, null),
+                new BookingDto(null, null, null, item.getId(), start.plusDays(12), start.plusDays(13), null),
+                null),
+                booker.getId());
+
+        assertNotNull(results.get(0).getBooking());
+        assertEquals("Предмет уже забронирован на эти даты", results.get(1).getError());
+        assertEquals("Предмет недоступен", results.get(2).getError());
+        assertEquals("Невозможно забронировать свой предмет", results.get(3).getError());
+        assertEquals("Предмет с id -1 не найден", results.get(4).getError());
+        assertEquals("Дата начала бронирования не может быть позже даты завершения", results.get(5).getError());
+        assertNotNull(results.get(6).getError());
+        assertEquals("Не указаны вещь или даты бронирования", results.get(7).getError());
+        assertNotNull(results.get(8).getBooking());
+        assertEquals("Бронирование не может быть пустым", results.get(9).getError());
+        assertEquals(2, results.stream().filter(result -> result.getError() == null).count());
+        assertTrue(bookingRepository.findById(results.get(8).getBooking().getId()).isPresent());
+    }
+
+    @Test
+    void batchOfTooManyDistinctItemsIsRejected() {
+        User booker = userRepository.save(new User(null, "booker", "batch-items-booker@mail.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<BookingDto> bookings = new ArrayList<>();
+        for (long itemId = 1; itemId <= 33; itemId++) {
+            bookings.add(new BookingDto(null, null, null, itemId, start, start.plusDays(1), null));
+        }
+
+        assertThrows(IllegalStateException.class, () -> bookingService.addBookings(bookings, booker.getId()));
+    }
+}
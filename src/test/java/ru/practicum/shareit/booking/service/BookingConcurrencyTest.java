@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Slf4j
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsApproveOnlyOne() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "concurrency-owner@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User booker = userRepository.save(new User(null, "booker", "concurrency-booker" + i + "@mail.ru"));
+            // интервалы сдвинуты на час, но каждый пересекается со всеми остальными
+            BookingDto booking = new BookingDto(null, null, booker.getId(), item.getId(),
+                    start.plusHours(i), start.plusHours(THREADS + i), null);
+            bookingIds.add(bookingService.addBooking(booking, booker.getId()).getId());
+        }
+
+        List<Throwable> failures = runConcurrently(bookingIds.stream()
+                .map(id -> (Callable<Object>) () -> bookingService.patchBooking(id, owner.getId(), true)));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(BookingConflictException.class, failure));
+        assertEquals(1, countApproved(bookingIds));
+    }
+
+    @Test
+    void bookingOverlappingApprovedOneIsRejected() {
+        User owner = userRepository.save(new User(null, "owner", "overlap-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "overlap-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Long approved = bookingService.addBooking(new BookingDto(null, null, booker.getId(), item.getId(),
+                start, start.plusDays(2), null), booker.getId()).getId();
+        bookingService.patchBooking(approved, owner.getId(), true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.addBooking(new BookingDto(null, null,
+                booker.getId(), item.getId(), start.plusDays(1), start.plusDays(3), null), booker.getId()));
+        bookingService.addBooking(new BookingDto(null, null, booker.getId(), item.getId(),
+                start.plusDays(2), start.plusDays(3), null), booker.getId());
+    }
+
+    @Test
+    void hotItemIsSerialisedWhileDistinctItemsProceedInParallel() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "hammer-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "hammer-booker@mail.ru"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Item hotItem = itemRepository.save(new Item(null, "hot", "description", true, owner.getId(), null));
+        List<Long> hotItems = new ArrayList<>();
+        List<Long> distinctItems = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            hotItems.add(hotItem.getId());
+            distinctItems.add(itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null)).getId());
+        }
+
+        List<Long> hotBookings = hammer("одна вещь", hotItems, owner, booker, start);
+        List<Long> distinctBookings = hammer("разные вещи", distinctItems, owner, booker, start);
+
+        assertEquals(1, countApproved(hotBookings));
+        assertEquals(BOOKINGS, countApproved(distinctBookings));
+    }
+
+    /**
+     * Параллельно создаёт по бронированию на каждую вещь из списка, затем параллельно подтверждает их все
+     * и пишет в лог пропускную способность и число конфликтов каждой фазы.
+     */
+    private List<Long> hammer(String scenario, List<Long> itemIds, User owner, User booker,
+                              LocalDateTime start) throws Exception {
+        List<Long> bookingIds = Collections.synchronizedList(new ArrayList<>());
+        long createStarted = System.nanoTime();
+        List<Throwable> createFailures = runConcurrently(itemIds.stream()
+                .map(itemId -> (Callable<Object>) () -> bookingIds.add(bookingService.addBooking(
+                        new BookingDto(null, null, booker.getId(), itemId, start, start.plusDays(1), null),
+                        booker.getId()).getId())));
+        report(scenario, "создание", itemIds.size(), createFailures, System.nanoTime() - createStarted);
+        assertEquals(List.of(), createFailures);
+
+        long approveStarted = System.nanoTime();
+        List<Throwable> approveFailures = runConcurrently(bookingIds.stream()
+                .map(id -> (Callable<Object>) () -> bookingService.patchBooking(id, owner.getId(), true)));
+        report(scenario, "подтверждение", bookingIds.size(), approveFailures, System.nanoTime() - approveStarted);
+        approveFailures.forEach(failure -> assertInstanceOf(BookingConflictException.class, failure));
+        return bookingIds;
+    }
+
+    private void report(String scenario, String phase, int operations, List<Throwable> failures, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        log.info("{}, {}: операций {}, конфликтов {}, {} мс, {} оп/с", scenario, phase, operations,
+                failures.size(), Math.round(seconds * 1000), Math.round(operations / seconds));
+    }
+
+    private long countApproved(List<Long> bookingIds) {
+        return bookingIds.stream()
+                .map(id -> bookingRepository.findById(id).orElseThrow().getStatus())
+                .filter(BookingStatus.APPROVED::equals)
+                .count();
+    }
+
+    private List<Throwable> runConcurrently(Stream<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            tasks.forEach(task -> futures.add(executor.submit(() -> {
+                startSignal.await();
+                return task.call();
+            })));
+            startSignal.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingReturnDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingListPagingTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void cursorAndOffsetPagesReturnSameOrderAsFullList() {
+        User owner = userRepository.save(new User(null, "owner", "paging-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "paging-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 11; i++) {
+            // пары с одинаковым началом проверяют, что курсор учитывает id
+            LocalDateTime bookingStart = start.plusHours(i / 2);
+            bookingRepository.save(new Booking(null, BookingStatus.WAITING, booker, item,
+                    bookingStart, bookingStart.plusHours(1), null));
+        }
+        List<Long> expected = ids(bookingService.getUserBookingList(booker.getId(), "ALL", null, null, null));
+
+        assertEquals(expected, walkByCursor(booker.getId(), false));
+        assertEquals(expected, walkByCursor(owner.getId(), true));
+        assertEquals(expected.subList(3, 7), ids(bookingService.getUserBookingList(booker.getId(), "ALL", 3, 4, null)));
+    }
+
+    private List<Long> walkByCursor(Long userId, boolean owner) {
+        List<Long> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPageDto page = owner
+                    ? bookingService.getOwnerBookingList(userId, "FUTURE", null, 4, cursor)
+                    : bookingService.getUserBookingList(userId, "WAITING", null, 4, cursor);
+            result.addAll(ids(page));
+            cursor = page.getNext();
+        } while (cursor != null);
+        return result;
+    }
+
+    private List<Long> ids(BookingPageDto page) {
+        return page.getBookings().stream().map(BookingReturnDto::getId).collect(Collectors.toList());
+    }
+}
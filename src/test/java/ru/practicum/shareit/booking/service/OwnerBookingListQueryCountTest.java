@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class OwnerBookingListQueryCountTest {
+    private static final List<String> STATES = List.of("ALL", "FUTURE", "CURRENT", "PAST", "WAITING", "REJECTED");
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void ownerBookingListQueryCountDoesNotDependOnItemCount() throws Exception {
+        User booker = userRepository.save(new User(null, "booker", "owner-list-booker@mail.ru"));
+        long smallOwner = createOwnerWithBookings("small", 1, booker);
+        long largeOwner = createOwnerWithBookings("large", 100, booker);
+
+        for (String state : STATES) {
+            long smallCount = countStatements(smallOwner, state);
+            long largeCount = countStatements(largeOwner, state);
+            assertEquals(smallCount, largeCount, "Количество запросов для состояния " + state);
+        }
+        assertEquals(100 * 3, bookingService.getOwnerBookingList(largeOwner, "ALL", null, null, null).getBookings().size());
+    }
+
+    private long countStatements(long ownerId, String state) throws Exception {
+        return QueryCounter.count(() -> bookingService.getOwnerBookingList(ownerId, state, null, null, null));
+    }
+
+    private long createOwnerWithBookings(String name, int itemCount, User booker) {
+        User owner = userRepository.save(new User(null, name, "owner-list-" + name + "@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = itemRepository.save(new Item(null, name + i, "description", true, owner.getId(), null));
+            bookingRepository.save(new Booking(null, BookingStatus.APPROVED, booker, item,
+                    now.minusDays(2), now.minusDays(1), null));
+            bookingRepository.save(new Booking(null, BookingStatus.WAITING, booker, item,
+                    now.minusHours(1), now.plusHours(1), null));
+            bookingRepository.save(new Booking(null, BookingStatus.REJECTED, booker, item,
+                    now.plusDays(1), now.plusDays(2), null));
+        }
+        return owner.getId();
+    }
+}
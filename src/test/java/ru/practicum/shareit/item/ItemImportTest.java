@@ -0,0 +1,199 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.service.ItemImporter;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemImportTest {
+    private static final int LARGE_IMPORT = 100_000;
+    private static final int BATCHED_IMPORT = 2_000;
+    private static final int INVALID_EVERY = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ItemImporter itemImporter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void jsonImportReportsInvalidRowsAndSavesTheRest() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "import-json-owner@mail.ru"));
+        String body = "[{\"name\": \"дрель\", \"description\": \"ударная\", \"available\": true},"
+                + "{\"description\": \"без названия\", \"available\": true},"
+                + "{\"name\": \"пила\", \"description\": \"ручная\", \"available\": \"нет\"},"
+                + "42,"
+                + "{\"id\": 1, \"name\": \"молоток\", \"description\": \"большой\", \"available\": false}]";
+
+        JsonNode result = importItems(owner.getId(), MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertEquals(2, result.get("imported").asLong());
+        assertEquals(3, result.get("failed").asLong());
+        assertEquals(2, result.get("errors").get(0).get("row").asLong());
+        assertEquals(3, result.get("errors").get(1).get("row").asLong());
+        assertEquals(4, result.get("errors").get(2).get("row").asLong());
+        assertEquals(2, countItems(owner.getId()));
+    }
+
+    @Test
+    void csvImportUsesHeaderColumns() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "import-csv-owner@mail.ru"));
+        String body = "name,description,available\n"
+                + "дрель,ударная,true\n"
+                + ",без названия,true\n"
+                + "пила,ручная,false\n";
+
+        JsonNode result = importItems(owner.getId(), ItemController.CSV, body);
+
+        assertEquals(2, result.get("imported").asLong());
+        assertEquals(1, result.get("failed").asLong());
+        assertEquals(2, result.get("errors").get(0).get("row").asLong());
+        assertEquals(2, countItems(owner.getId()));
+    }
+
+    @Test
+    void rowsRejectedByDatabaseAreReportedAndTheRestOfTheBatchIsSaved() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "import-db-owner@mail.ru"));
+        String body = "[{\"name\": \"дрель\", \"description\": \"ударная\", \"available\": true},"
+                + "{\"name\": \"" + "п".repeat(256) + "\", \"description\": \"длинная\", \"available\": true},"
+                + "{\"name\": \"сбой\", \"description\": \"нарушает ограничение\", \"available\": true},"
+                + "{\"name\": \"пила\", \"description\": \"ручная\", \"available\": true}]";
+        // ограничение, которое не проверяется валидацией ItemDto, чтобы пачка упала в БД
+        jdbcTemplate.execute("alter table items add constraint chk_import_test check (name <> 'сбой')");
+        JsonNode result;
+        try {
+            result = importItems(owner.getId(), MediaType.APPLICATION_JSON_VALUE, body);
+        } finally {
+            jdbcTemplate.execute("alter table items drop constraint chk_import_test");
+        }
+
+        assertEquals(2, result.get("imported").asLong());
+        assertEquals(2, result.get("failed").asLong());
+        assertEquals(2, result.get("errors").get(0).get("row").asLong());
+        assertEquals(3, result.get("errors").get(1).get("row").asLong());
+        assertEquals(2, countItems(owner.getId()));
+    }
+
+    @Test
+    void importOfUnknownUserIsNotFound() throws Exception {
+        mockMvc.perform(post("/items/import").header("X-Sharer-User-Id", -1)
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Пачка из shareit.items.import.batch-size строк сохраняется одной транзакцией с пакетными вставками,
+     * поэтому на 2000 строк приходится порядка сотни запросов, а не по запросу на строку.
+     */
+    @Test
+    void importIsSavedInBatches() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "import-batched-owner@mail.ru"));
+        ItemImportResultDto[] result = new ItemImportResultDto[1];
+
+        long statements = QueryCounter.count(() ->
+                result[0] = itemImporter.importJson(owner.getId(), generatedJson(BATCHED_IMPORT)));
+
+        int invalid = BATCHED_IMPORT / INVALID_EVERY;
+        assertEquals(BATCHED_IMPORT - invalid, result[0].getImported());
+        assertEquals(invalid, result[0].getFailed());
+        assertEquals(BATCHED_IMPORT - invalid, countItems(owner.getId()));
+        assertTrue(statements <= 2 * BATCHED_IMPORT / 50 + 10, "запросов " + statements);
+    }
+
+    /**
+     * Замер импорта 100 000 строк. Строки генерируются по мере чтения, так что ни тело запроса,
+     * ни список вещей целиком в памяти не появляются.
+     */
+    @Tag("perf")
+    @Test
+    void largeImportThroughput() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "import-large-owner@mail.ru"));
+        Runtime runtime = Runtime.getRuntime();
+        long started = System.nanoTime();
+
+        ItemImportResultDto result = itemImporter.importJson(owner.getId(), generatedJson(LARGE_IMPORT));
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Импорт {} вещей: {} мс, занято в куче после импорта {} МБ", LARGE_IMPORT, millis,
+                (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024);
+        int invalid = LARGE_IMPORT / INVALID_EVERY;
+        assertEquals(LARGE_IMPORT - invalid, result.getImported());
+        assertEquals(invalid, result.getFailed());
+        assertEquals(100, result.getErrors().size());
+        assertEquals(LARGE_IMPORT - invalid, countItems(owner.getId()));
+        jdbcTemplate.update("delete from items where user_id = ?", owner.getId());
+    }
+
+    private JsonNode importItems(long userId, String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/items/import").header("X-Sharer-User-Id", userId)
+                        .contentType(contentType).content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(response);
+    }
+
+    private long countItems(long userId) {
+        return jdbcTemplate.queryForObject("select count(*) from items where user_id = ?", Long.class, userId);
+    }
+
+    private InputStream generatedJson(int rows) {
+        Iterator<InputStream> parts = IntStream.rangeClosed(0, rows + 1)
+                .mapToObj(i -> {
+                    if (i == 0) {
+                        return "[";
+                    }
+                    if (i > rows) {
+                        return "]";
+                    }
+                    String name = i % INVALID_EVERY == 0 ? "" : "item" + i;
+                    return (i > 1 ? "," : "") + "{\"name\": \"" + name + "\", \"description\": \"description\", "
+                            + "\"available\": true}";
+                })
+                .map(part -> (InputStream) new ByteArrayInputStream(part.getBytes(StandardCharsets.UTF_8)))
+                .iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return parts.next();
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(1, "Отвертка", "Аккумуляторная отвертка", true);
+        index.put(2, "Дрель", "Простая дрель", true);
+        index.put(3, "Кухонный стол", "Стол для дрели", true);
+        index.put(4, "Дрель ударная", "Недоступна", false);
+        index.put(5, "Дрель+", "Дрель с насадками", true);
+    }
+
+    @Test
+    void findsSubstringIgnoringCaseWithNameMatchesFirst() {
+        assertEquals(List.of(2L, 5L, 3L), ids(index.search("ДРЕЛ", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("ккумулятор", 0, 10)));
+        assertEquals(List.of(), ids(index.search("перфоратор", 0, 10)));
+    }
+
+    @Test
+    void shortQueriesAreAnsweredWithoutTrigrams() {
+        assertEquals(List.of(5L), ids(index.search("+", 0, 10)));
+        assertEquals(List.of(3L, 1L), ids(index.search("то", 0, 10)));
+    }
+
+    @Test
+    void reindexingReplacesPreviousText() {
+        index.put(2, "Пила", "Ручная пила", true);
+        index.put(4, "Дрель ударная", "Снова доступна", true);
+
+        assertEquals(List.of(4L, 5L, 3L), ids(index.search("дрел", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("пила", 0, 10)));
+    }
+
+    @Test
+    void appliesOffsetAndLimit() {
+        assertEquals(List.of(5L), ids(index.search("дрел", 1, 1)));
+        assertEquals(List.of(), ids(index.search("дрел", 3, 10)));
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.time.MutableClock;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class CommentEligibilityTest {
+    private static final Instant START = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private MutableClock clock;
+
+    @Test
+    void commentIsAllowedOnlyAfterBookingEnds() {
+        User owner = userRepository.save(new User(null, "owner", "comment-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "comment-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime now = LocalDateTime.now(clock);
+        CommentDto comment = new CommentDto(null, "Отлично", null, null, null);
+
+        assertThrows(IllegalStateException.class, () -> itemService.addComment(booker.getId(), item.getId(), comment));
+
+        bookingRepository.save(new Booking(null, BookingStatus.REJECTED, booker, item,
+                now.minusDays(2), now.minusDays(1), null));
+        bookingRepository.save(new Booking(null, BookingStatus.APPROVED, booker, item,
+                now.minusHours(1), now.plusHours(1), null));
+        assertThrows(IllegalStateException.class, () -> itemService.addComment(booker.getId(), item.getId(), comment));
+
+        clock.advance(Duration.ofHours(2));
+        nextRequest();
+        CommentDto saved = itemService.addComment(booker.getId(), item.getId(), comment);
+        assertEquals(now.plusHours(2), saved.getCreated());
+        Comment stored = commentRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Отлично", stored.getText());
+        assertEquals(item.getId(), stored.getItem().getId());
+    }
+
+    /**
+     * Тестовый контекст выполняет весь метод внутри одного mock-запроса, а время фиксируется на запрос.
+     */
+    private void nextRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(START, ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.items.comments-limit=2")
+class CommentLimitTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void onlyNewestCommentsOfEachItemAreReturned() {
+        User owner = userRepository.save(new User(null, "owner", "comment-limit-owner@mail.ru"));
+        User author = userRepository.save(new User(null, "author", "comment-limit-author@mail.ru"));
+        Item popular = itemRepository.save(new Item(null, "popular", "description", true, owner.getId(), null));
+        Item quiet = itemRepository.save(new Item(null, "quiet", "description", true, owner.getId(), null));
+        Item silent = itemRepository.save(new Item(null, "silent", "description", true, owner.getId(), null));
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 10, 0);
+        commentRepository.save(new Comment(null, "первый", popular, author, created));
+        commentRepository.save(new Comment(null, "второй", popular, author, created.plusHours(1)));
+        Comment sameTimeFirst = commentRepository.save(new Comment(null, "третий", popular, author, created.plusHours(2)));
+        Comment sameTimeSecond = commentRepository.save(new Comment(null, "четвёртый", popular, author, created.plusHours(2)));
+        commentRepository.save(new Comment(null, "единственный", quiet, author, created));
+
+        List<ItemDto> items = itemService.getItems(owner.getId());
+
+        assertEquals(List.of(popular.getId(), quiet.getId(), silent.getId()),
+                items.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertEquals(List.of(sameTimeSecond.getId(), sameTimeFirst.getId()), commentIds(items.get(0)));
+        assertEquals(List.of("единственный"),
+                items.get(1).getComments().stream().map(CommentDto::getText).collect(Collectors.toList()));
+        assertEquals(List.of(), commentIds(items.get(2)));
+    }
+
+    private static List<Long> commentIds(ItemDto item) {
+        return item.getComments().stream().map(CommentDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ItemUpdateQueryCountTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void updateDoesNotLoadOtherItemsOfOwner() throws Exception {
+        Item smallItem = createOwnerWithItems("small", 1);
+        Item largeItem = createOwnerWithItems("large", 500);
+
+        statistics.clear();
+        long smallStatements = QueryCounter.count(() -> itemService.updateItem(
+                new ItemDto(null, "new name", null, null), smallItem.getId(), smallItem.getUserId()));
+        long smallEntities = statistics.getEntityLoadCount();
+
+        statistics.clear();
+        long largeStatements = QueryCounter.count(() -> itemService.updateItem(
+                new ItemDto(null, "new name", null, null), largeItem.getId(), largeItem.getUserId()));
+
+        assertEquals(smallStatements, largeStatements);
+        assertEquals(smallEntities, statistics.getEntityLoadCount());
+        assertEquals("new name", itemRepository.findById(smallItem.getId()).orElseThrow().getName());
+    }
+
+    private Item createOwnerWithItems(String name, int itemCount) {
+        User owner = userRepository.save(new User(null, name, "item-update-" + name + "@mail.ru"));
+        Item last = null;
+        for (int i = 0; i < itemCount; i++) {
+            last = itemRepository.save(new Item(null, name + i, "description", true, owner.getId(), null));
+        }
+        return last;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Данные, засеянные DatasetSeeder: id пользователей (каждый владеет вещами и бронирует чужие),
+ * слова, из которых составлены названия вещей, и число созданных записей.
+ */
+@Data
+@AllArgsConstructor
+public class Dataset {
+    private List<Long> userIds;
+    private List<String> words;
+    private long items;
+    private long bookings;
+    private long comments;
+
+    @Override
+    public String toString() {
+        return String.format("пользователей %d, вещей %d, бронирований %d, комментариев %d",
+                userIds.size(), items, bookings, comments);
+    }
+}
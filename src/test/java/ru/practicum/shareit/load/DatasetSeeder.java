@@ -0,0 +1,154 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Засевает синтетический набор данных через репозитории приложения: users пользователей,
+ * у каждого itemsPerOwner вещей, у каждой вещи bookingsPerItem бронирований других пользователей
+ * (по два дня подряд, половина в прошлом, каждое четвёртое ждёт подтверждения) и commentsPerItem комментариев.
+ * Записи сохраняются пачками по CHUNK в отдельных транзакциях, поэтому объём ограничен только БД,
+ * а Hibernate отправляет вставки пакетами. Почты содержат метку запуска, так что засевать можно повторно.
+ */
+@Slf4j
+public class DatasetSeeder {
+    static final List<String> WORDS = List.of("дрель", "пила", "отвёртка", "молоток", "лестница", "палатка",
+            "велосипед", "самокат", "проектор", "колонка", "шуруповёрт", "перфоратор");
+    private static final int CHUNK = 1000;
+
+    private final int users;
+    private final int itemsPerOwner;
+    private final int bookingsPerItem;
+    private final int commentsPerItem;
+    private final Random random = new Random(1);
+
+    public DatasetSeeder(int users, int itemsPerOwner, int bookingsPerItem, int commentsPerItem) {
+        if (users < 2) {
+            throw new IllegalArgumentException("Нужно хотя бы два пользователя: владелец и арендатор");
+        }
+        this.users = users;
+        this.itemsPerOwner = itemsPerOwner;
+        this.bookingsPerItem = bookingsPerItem;
+        this.commentsPerItem = commentsPerItem;
+    }
+
+    /**
+     * Размер набора из системных свойств shareit.load.users, shareit.load.items-per-owner,
+     * shareit.load.bookings-per-item и shareit.load.comments-per-item.
+     */
+    public static DatasetSeeder fromSystemProperties(int users, int itemsPerOwner, int bookingsPerItem,
+                                                     int commentsPerItem) {
+        return new DatasetSeeder(Integer.getInteger("shareit.load.users", users),
+                Integer.getInteger("shareit.load.items-per-owner", itemsPerOwner),
+                Integer.getInteger("shareit.load.bookings-per-item", bookingsPerItem),
+                Integer.getInteger("shareit.load.comments-per-item", commentsPerItem));
+    }
+
+    public Dataset seed(ApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        long started = System.nanoTime();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        List<User> savedUsers = new ArrayList<>();
+        List<User> chunk = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            chunk.add(new User(null, "user" + i, "load-" + run + "-" + i + "@mail.ru"));
+            if (chunk.size() == CHUNK || i == users - 1) {
+                savedUsers.addAll(userRepository.saveAll(chunk));
+                chunk.clear();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Item> items = new ArrayList<>();
+        long itemCount = 0;
+        long bookingCount = 0;
+        long commentCount = 0;
+        for (int owner = 0; owner < users; owner++) {
+            for (int i = 0; i < itemsPerOwner; i++) {
+                items.add(new Item(null, word() + " " + owner + "-" + i, word() + " " + word(), true,
+                        savedUsers.get(owner).getId(), null));
+            }
+            if (items.size() >= CHUNK || owner == users - 1) {
+                List<Item> savedItems = itemRepository.saveAll(items);
+                itemCount += savedItems.size();
+                bookingCount += saveInChunks(bookingRepository, bookings(savedItems, savedUsers, now));
+                commentCount += saveInChunks(commentRepository, comments(savedItems, savedUsers, now));
+                items.clear();
+            }
+        }
+
+        Dataset dataset = new Dataset(savedUsers.stream().map(User::getId).collect(Collectors.toList()), WORDS,
+                itemCount, bookingCount, commentCount);
+        log.info("Набор данных засеян за {} мс: {}", (System.nanoTime() - started) / 1_000_000, dataset);
+        return dataset;
+    }
+
+    private List<Booking> bookings(List<Item> items, List<User> savedUsers, LocalDateTime now) {
+        List<Booking> bookings = new ArrayList<>();
+        LocalDateTime first = now.minusDays(bookingsPerItem);
+        for (Item item : items) {
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = first.plusDays(2L * j);
+                bookings.add(new Booking(null, j % 4 == 3 ? BookingStatus.WAITING : BookingStatus.APPROVED,
+                        booker(item, j, savedUsers), item, start, start.plusDays(1), null));
+            }
+        }
+        return bookings;
+    }
+
+    private List<Comment> comments(List<Item> items, List<User> savedUsers, LocalDateTime now) {
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : items) {
+            for (int j = 0; j < commentsPerItem; j++) {
+                comments.add(new Comment(null, "отличная " + word(), item, booker(item, j, savedUsers),
+                        now.minusHours(j)));
+            }
+        }
+        return comments;
+    }
+
+    /**
+     * Арендатор j-го бронирования вещи: пользователи по кругу, начиная со следующего за владельцем.
+     * Id пользователей выдаются последовательностью по возрастанию, поэтому владелец ищется двоичным поиском.
+     */
+    private User booker(Item item, int j, List<User> savedUsers) {
+        int owner = Collections.binarySearch(savedUsers, new User(item.getUserId(), null, null),
+                Comparator.comparing(User::getId));
+        int booker = (owner + 1 + j % (savedUsers.size() - 1)) % savedUsers.size();
+        return savedUsers.get(booker);
+    }
+
+    private <T> long saveInChunks(JpaRepository<T, Long> repository, List<T> entities) {
+        for (int from = 0; from < entities.size(); from += CHUNK) {
+            repository.saveAll(entities.subList(from, Math.min(from + CHUNK, entities.size())));
+        }
+        return entities.size();
+    }
+
+    private String word() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+}
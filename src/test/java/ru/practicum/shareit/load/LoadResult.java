@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Итог прогона LoadRunner: число запросов и ошибок за время измерения, пропускная способность
+ * и перцентили задержки в микросекундах.
+ */
+@Data
+@AllArgsConstructor
+public class LoadResult {
+    private long requests;
+    private long errors;
+    private double throughput;
+    private long p50;
+    private long p95;
+    private long p99;
+
+    @Override
+    public String toString() {
+        return String.format("%d запросов, ошибок %d, %.0f запр/с, p50 %d мкс, p95 %d мкс, p99 %d мкс",
+                requests, errors, throughput, p50, p95, p99);
+    }
+}
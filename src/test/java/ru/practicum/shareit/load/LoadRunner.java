@@ -0,0 +1,150 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузка по замкнутой модели: concurrency клиентов отправляют запросы друг за другом без пауз.
+ * Сначала warmUp, затем duration, за которое считаются запросы, ошибки (статус 4xx/5xx или сбой соединения)
+ * и задержки каждого запроса.
+ */
+public class LoadRunner {
+    public static final String TOTAL = "всего";
+
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final int concurrency;
+    private final Duration warmUp;
+    private final Duration duration;
+
+    public LoadRunner(int concurrency, Duration warmUp, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmUp = warmUp;
+        this.duration = duration;
+    }
+
+    /**
+     * Параметры прогона из системных свойств shareit.load.concurrency, shareit.load.warm-up
+     * и shareit.load.duration (секунды), чтобы длинный прогон можно было запустить из командной строки.
+     */
+    public static LoadRunner fromSystemProperties(int concurrency, int warmUpSeconds, int durationSeconds) {
+        return new LoadRunner(Integer.getInteger("shareit.load.concurrency", concurrency),
+                Duration.ofSeconds(Integer.getInteger("shareit.load.warm-up", warmUpSeconds)),
+                Duration.ofSeconds(Integer.getInteger("shareit.load.duration", durationSeconds)));
+    }
+
+    public LoadResult run(Supplier<HttpRequest> requests) throws Exception {
+        return run(new Workload().add(TOTAL, 1, requests)).get(TOTAL);
+    }
+
+    /**
+     * Прогон смеси запросов. Возвращает итоги по каждому сценарию в порядке добавления и общий итог под ключом TOTAL.
+     */
+    public Map<String, LoadResult> run(Workload workload) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            runFor(executor, workload, warmUp, new AtomicLongArray(workload.size()));
+            AtomicLongArray errors = new AtomicLongArray(workload.size());
+            long started = System.nanoTime();
+            long[][] latencies = runFor(executor, workload, duration, errors);
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            Map<String, LoadResult> results = new LinkedHashMap<>();
+            long[] all = new long[0];
+            long allErrors = 0;
+            for (int scenario = 0; scenario < workload.size(); scenario++) {
+                results.put(workload.name(scenario), result(latencies[scenario], errors.get(scenario), seconds));
+                all = concat(all, latencies[scenario]);
+                allErrors += errors.get(scenario);
+            }
+            results.put(TOTAL, result(all, allErrors, seconds));
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoadResult result(long[] latencies, long errors, double seconds) {
+        Arrays.sort(latencies);
+        return new LoadResult(latencies.length, errors, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99));
+    }
+
+    private long[][] runFor(ExecutorService executor, Workload workload, Duration period,
+                            AtomicLongArray errors) throws Exception {
+        long deadline = System.nanoTime() + period.toNanos();
+        List<Future<long[][]>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            clients.add(executor.submit(() -> {
+                long[][] latencies = new long[workload.size()][1024];
+                int[] counts = new int[workload.size()];
+                while (System.nanoTime() < deadline) {
+                    int scenario = workload.pick(ThreadLocalRandom.current());
+                    HttpRequest request = workload.request(scenario);
+                    long started = System.nanoTime();
+                    if (!send(request)) {
+                        errors.incrementAndGet(scenario);
+                    }
+                    int count = counts[scenario]++;
+                    if (count == latencies[scenario].length) {
+                        latencies[scenario] = Arrays.copyOf(latencies[scenario], count * 2);
+                    }
+                    latencies[scenario][count] = (System.nanoTime() - started) / 1000;
+                }
+                for (int scenario = 0; scenario < workload.size(); scenario++) {
+                    latencies[scenario] = Arrays.copyOf(latencies[scenario], counts[scenario]);
+                }
+                return latencies;
+            }));
+        }
+        long[][] all = new long[workload.size()][0];
+        for (Future<long[][]> latencies : clients) {
+            long[][] part = latencies.get();
+            for (int scenario = 0; scenario < workload.size(); scenario++) {
+                all[scenario] = concat(all[scenario], part[scenario]);
+            }
+        }
+        return all;
+    }
+
+    private long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+}
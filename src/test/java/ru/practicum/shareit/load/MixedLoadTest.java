@@ -0,0 +1,32 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Короткий прогон MixedLoadTool на небольшом наборе данных: все эндпоинты смеси получают запросы без ошибок.
+ * Поднимает отдельное приложение и нагружает его несколько секунд, поэтому запускается только с -P perf.
+ */
+@Slf4j
+@Tag("perf")
+class MixedLoadTest {
+
+    @Test
+    void mixedWorkloadRunsWithoutErrors() throws Exception {
+        Map<String, LoadResult> results = MixedLoadTool.run(new String[0],
+                DatasetSeeder.fromSystemProperties(20, 3, 6, 1), LoadRunner.fromSystemProperties(8, 1, 2));
+
+        results.forEach((name, result) -> log.info("{}: {}", name, result));
+        assertEquals(5, results.size());
+        results.forEach((name, result) -> {
+            assertTrue(result.getRequests() > 0, name);
+            assertEquals(0, result.getErrors(), name);
+        });
+    }
+}
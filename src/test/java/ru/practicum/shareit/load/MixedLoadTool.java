@@ -0,0 +1,91 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Нагрузочный прогон смеси запросов чтения для оценки размеров БД и узлов приложения.
+ * Запускает приложение на случайном порту, засевает набор данных DatasetSeeder и нагружает LoadRunner
+ * эндпоинты /items, /items/search, /bookings и /bookings/owner от имени случайных пользователей.
+ * Итоги по каждому эндпоинту и общий пишутся в лог.
+ * <p>
+ * По умолчанию работает на H2 (профиль test):
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=ru.practicum.shareit.load.MixedLoadTool \
+ *     -Dshareit.load.users=1000 -Dshareit.load.concurrency=32 -Dshareit.load.duration=60
+ * </pre>
+ * Для локального PostgreSQL аргументы передаются приложению как есть:
+ * {@code -Dexec.args="--spring.profiles.active=default --spring.datasource.url=jdbc:postgresql://localhost:5432/shareit"}.
+ */
+@Slf4j
+public final class MixedLoadTool {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String PAGE = "from=0&size=20";
+
+    private MixedLoadTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, LoadResult> results = run(args, DatasetSeeder.fromSystemProperties(1000, 5, 10, 2),
+                LoadRunner.fromSystemProperties(32, 10, 60));
+        results.forEach((name, result) -> log.info("{}: {}", name, result));
+    }
+
+    public static Map<String, LoadResult> run(String[] args, DatasetSeeder seeder,
+                                              LoadRunner runner) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .run(withDefaults(args))) {
+            Dataset dataset = seeder.seed(context);
+            String base = "http://localhost:"
+                    + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            return runner.run(workload(base, dataset));
+        }
+    }
+
+    /**
+     * Доля запросов: список вещей владельца и поиск по 30%, списки бронирований арендатора и владельца по 20%.
+     */
+    static Workload workload(String base, Dataset dataset) {
+        return new Workload()
+                .add("/items", 3, () -> get(base + "/items", randomUser(dataset)))
+                .add("/items/search", 3, () -> get(base + "/items/search?" + PAGE + "&text="
+                        + URLEncoder.encode(randomWord(dataset), StandardCharsets.UTF_8), randomUser(dataset)))
+                .add("/bookings", 2, () -> get(base + "/bookings?" + PAGE, randomUser(dataset)))
+                .add("/bookings/owner", 2, () -> get(base + "/bookings/owner?" + PAGE, randomUser(dataset)));
+    }
+
+    private static String[] withDefaults(String[] args) {
+        List<String> result = new ArrayList<>(Arrays.asList(args));
+        result.add(0, "--server.port=0");
+        if (result.stream().noneMatch(arg -> arg.startsWith("--spring.profiles.active"))
+                && System.getProperty("spring.profiles.active") == null) {
+            result.add("--spring.profiles.active=test");
+        }
+        return result.toArray(new String[0]);
+    }
+
+    private static HttpRequest get(String uri, long userId) {
+        return HttpRequest.newBuilder(URI.create(uri)).header(USER_HEADER, String.valueOf(userId)).build();
+    }
+
+    private static long randomUser(Dataset dataset) {
+        return dataset.getUserIds().get(ThreadLocalRandom.current().nextInt(dataset.getUserIds().size()));
+    }
+
+    private static String randomWord(Dataset dataset) {
+        return dataset.getWords().get(ThreadLocalRandom.current().nextInt(dataset.getWords().size()));
+    }
+}
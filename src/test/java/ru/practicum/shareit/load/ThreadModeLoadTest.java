@@ -0,0 +1,116 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Сравнивает обработку запросов на потоках платформы и на виртуальных потоках (shareit.threads.virtual)
+ * под одинаковой нагрузкой на /bookings/owner и /items. Приложение запускается целиком на случайном порту,
+ * результаты пишутся в лог. Виртуальные потоки измеряются только на JDK 21+.
+ * Замер помечен тегом perf и запускается только с -P perf; длительность и число клиентов задаются
+ * системными свойствами, см. LoadRunner.fromSystemProperties.
+ */
+@Slf4j
+class ThreadModeLoadTest {
+    private static final int ITEMS = 20;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    private int seeds;
+
+    @Tag("perf")
+    @Test
+    void compareThreadModes() throws Exception {
+        LoadRunner runner = LoadRunner.fromSystemProperties(32, 1, 2);
+        Map<String, LoadResult> results = new LinkedHashMap<>();
+        measure("потоки платформы", false, runner, results);
+        if (virtualThreadsAvailable()) {
+            measure("виртуальные потоки", true, runner, results);
+        } else {
+            log.info("JDK {} не поддерживает виртуальные потоки, измерены только потоки платформы",
+                    Runtime.version());
+        }
+
+        results.forEach((name, result) -> log.info("{}: {}", name, result));
+        results.forEach((name, result) -> assertEquals(0, result.getErrors(), name));
+    }
+
+    @Test
+    void virtualModeFailsFastWithoutVirtualThreads() {
+        assumeFalse(virtualThreadsAvailable());
+
+        assertThrows(Exception.class, () -> start(true).close());
+    }
+
+    private void measure(String mode, boolean virtual, LoadRunner runner,
+                         Map<String, LoadResult> results) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtual)) {
+            long ownerId = seed(context);
+            String base = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            results.put(mode + ", /bookings/owner", runner.run(() -> get(base + "/bookings/owner?size=20", ownerId)));
+            results.put(mode + ", /items", runner.run(() -> get(base + "/items", ownerId)));
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .run("--server.port=0", "--shareit.threads.virtual=" + virtual);
+    }
+
+    /**
+     * Владелец с ITEMS вещами, у каждой прошедшие и будущие бронирования. Возвращает id владельца.
+     */
+    private long seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        int seed = seeds++;
+        User owner = userRepository.save(new User(null, "owner", "load-owner" + seed + "@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "load-booker" + seed + "@mail.ru"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(new Item(null, "item" + i, "description", true, owner.getId(), null));
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(j - BOOKINGS_PER_ITEM / 2);
+                bookingRepository.save(new Booking(null, BookingStatus.APPROVED, booker, item,
+                        start, start.plusHours(12), null));
+            }
+        }
+        return owner.getId();
+    }
+
+    private HttpRequest get(String uri, long userId) {
+        return HttpRequest.newBuilder(URI.create(uri)).header("X-Sharer-User-Id", String.valueOf(userId)).build();
+    }
+
+    private boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Смесь запросов для LoadRunner: каждый клиент перед очередным запросом выбирает сценарий
+ * случайно пропорционально его весу. Задержки и ошибки считаются отдельно по сценариям.
+ */
+public class Workload {
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<HttpRequest>> requests = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    public Workload add(String name, int weight, Supplier<HttpRequest> request) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Вес сценария должен быть положительным: " + name);
+        }
+        totalWeight += weight;
+        names.add(name);
+        requests.add(request);
+        cumulativeWeights.add(totalWeight);
+        return this;
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    String name(int scenario) {
+        return names.get(scenario);
+    }
+
+    HttpRequest request(int scenario) {
+        return requests.get(scenario).get();
+    }
+
+    int pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        int scenario = 0;
+        while (cumulativeWeights.get(scenario) <= value) {
+            scenario++;
+        }
+        return scenario;
+    }
+}
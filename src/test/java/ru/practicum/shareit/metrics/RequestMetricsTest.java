@@ -0,0 +1,75 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class RequestMetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void requestsAreTimedWithStatementCounts() throws Exception {
+        User owner = userRepository.save(new User(null, "owner", "metrics-owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "booker", "metrics-booker@mail.ru"));
+        Item item = itemRepository.save(new Item(null, "item", "description", true, owner.getId(), null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.save(new Booking(null, BookingStatus.WAITING, booker, item, start, start.plusDays(1), null));
+
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("shareit.db.statements")
+                .tag("method", "GET").tag("uri", "/bookings/owner").summary();
+        assertEquals(2, statements.count());
+        assertTrue(statements.totalAmount() >= 2, "запросов к БД: " + statements.totalAmount());
+        assertEquals(2, meterRegistry.get("shareit.db.time").tag("uri", "/bookings/owner").timer().count());
+        Timer service = meterRegistry.get("shareit.service")
+                .tag("class", "BookingServiceImpl").tag("method", "getOwnerBookingList").tag("exception", "none")
+                .timer();
+        assertEquals(2, service.count());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_db_statements_count{method=\"GET\"")))
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.QueryCounter;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ItemRequestServiceTest {
+    private static final int REQUESTS = 30;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void requestsArePagedNewestFirstWithAnswersAttached() {
+        User requester = userRepository.save(new User(null, "requester", "requests-requester@mail.ru"));
+        User owner = userRepository.save(new User(null, "owner", "requests-owner@mail.ru"));
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequestDto request = itemRequestService.addRequest(
+                    new ItemRequestDto(null, "нужна дрель " + i, null, null), requester.getId());
+            requestIds.add(request.getId());
+            for (int j = 0; j < i % 3; j++) {
+                ItemDto answer = new ItemDto(null, "дрель", "ударная", true);
+                answer.setRequestId(request.getId());
+                itemService.addItem(answer, owner.getId());
+            }
+        }
+        itemRequestService.addRequest(new ItemRequestDto(null, "своя", null, null), owner.getId());
+        Collections.reverse(requestIds);
+
+        List<ItemRequestDto> own = itemRequestService.getUserRequests(requester.getId());
+        assertEquals(requestIds, ids(own));
+        for (ItemRequestDto request : own) {
+            int number = Integer.parseInt(request.getDescription().substring("нужна дрель ".length()));
+            assertEquals(number % 3, request.getItems().size());
+            request.getItems().forEach(item -> assertEquals(request.getId(), item.getRequestId()));
+        }
+
+        List<ItemRequestDto> page = itemRequestService.getOtherRequests(owner.getId(), 5, 10);
+        assertEquals(requestIds.subList(5, 15), ids(page));
+        assertEquals(List.of(), itemRequestService.getOtherRequests(requester.getId(), 0, 10).stream()
+                .filter(request -> requestIds.contains(request.getId()))
+                .collect(Collectors.toList()));
+        assertEquals(own.get(0), itemRequestService.getRequest(requestIds.get(0), owner.getId()));
+    }
+
+    @Test
+    void answersAreLoadedWithOneQueryPerPage() throws Exception {
+        User requester = userRepository.save(new User(null, "requester", "requests-count-requester@mail.ru"));
+        User owner = userRepository.save(new User(null, "owner", "requests-count-owner@mail.ru"));
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequestDto request = itemRequestService.addRequest(
+                    new ItemRequestDto(null, "нужна пила", null, null), requester.getId());
+            ItemDto answer = new ItemDto(null, "пила", "ручная", true);
+            answer.setRequestId(request.getId());
+            itemService.addItem(answer, owner.getId());
+        }
+
+        long onePage = QueryCounter.count(() -> itemRequestService.getOtherRequests(owner.getId(), 0, 1));
+        assertEquals(onePage, QueryCounter.count(() -> itemRequestService.getOtherRequests(owner.getId(), 0, REQUESTS)));
+    }
+
+    @Test
+    void unknownRequestIsNotFound() {
+        User owner = userRepository.save(new User(null, "owner", "requests-unknown-owner@mail.ru"));
+        ItemDto answer = new ItemDto(null, "пила", "ручная", true);
+        answer.setRequestId(-1L);
+
+        assertThrows(EntityNotFoundException.class, () -> itemRequestService.getRequest(-1L, owner.getId()));
+        assertThrows(EntityNotFoundException.class, () -> itemService.addItem(answer, owner.getId()));
+    }
+
+    @Test
+    void descriptionLongerThanColumnIsInvalid() {
+        ItemRequestDto fits = new ItemRequestDto(null, "д".repeat(512), null, new ArrayList<>());
+        ItemRequestDto tooLong = new ItemRequestDto(null, "д".repeat(513), null, new ArrayList<>());
+
+        assertEquals(0, validator.validate(fits).size());
+        assertEquals(1, validator.validate(tooLong).size());
+    }
+
+    private List<Long> ids(List<ItemRequestDto> requests) {
+        return requests.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.time;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CurrentTimeTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+    private final CurrentTime currentTime = new CurrentTime(clock);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void nowIsFixedForWholeRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        LocalDateTime first = currentTime.now();
+        clock.advance(Duration.ofMinutes(5));
+
+        assertEquals(first, currentTime.now());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals(first.plusMinutes(5), currentTime.now());
+    }
+
+    @Test
+    void nowFollowsClockOutsideRequest() {
+        LocalDateTime first = currentTime.now();
+        clock.advance(Duration.ofMinutes(5));
+
+        assertEquals(first.plusMinutes(5), currentTime.now());
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.exception.EntityAlreadyExistException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class UserEmailConflictTest {
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void takenEmailIsConflictAndOtherIntegrityErrorsAreNot() {
+        UserDto first = userService.addUser(new UserDto(null, "first", "taken@mail.ru"));
+        UserDto second = userService.addUser(new UserDto(null, "second", "free@mail.ru"));
+
+        assertThrows(EntityAlreadyExistException.class,
+                () -> userService.addUser(new UserDto(null, "copy", "taken@mail.ru")));
+        assertThrows(EntityAlreadyExistException.class,
+                () -> userService.updateUser(second.getId(), new User(null, null, first.getEmail())));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userService.addUser(new UserDto(null, null, "nameless@mail.ru")));
+    }
+}